@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequestParser;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.InMemorySpanExporter;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Span;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.response.LogicalResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A whole secrets lookup as GoCD sends it: request parsing, key resolution, reads and response serialization. The
+ * reads are answered by a stubbed reader with a prebuilt KV v2 response, so no HTTP is involved. With {@code tracing}
+ * set to {@code memory} every lookup is also traced, which shows the cost of tracing against the default of none.
+ */
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+    private static final int KEYS_PER_PATH = 10;
+
+    @Param({"1", "50", "500"})
+    int keyCount;
+
+    @Param({"1", "10"})
+    int distinctPaths;
+
+    @Param({"32", "4096"})
+    int secretSize;
+
+    @Param({"off", "memory"})
+    String tracing;
+
+    private SecretConfigLookupExecutor executor;
+    private DefaultGoPluginApiRequest request;
+
+    @Setup
+    public void setUp() {
+        LogicalResponse response = Secrets.kvV2Response(KEYS_PER_PATH, secretSize);
+        VaultClient client = new VaultClient(null, new VaultConfig(), path -> response, null, null, null);
+        VaultProvider vaultProvider = new VaultProvider() {
+            @Override
+            public VaultClient clientFor(SecretConfig secretConfig, Span parent) {
+                return client;
+            }
+        };
+        Tracer tracer = "memory".equals(tracing) ? new Tracer(new InMemorySpanExporter(InMemorySpanExporter.DEFAULT_MAX_TRACES)) : Tracer.disabled();
+        executor = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache(), new SecretConfigRequestParser(),
+                new LookupMetrics(), tracer);
+
+        request = new DefaultGoPluginApiRequest("secrets", "1.0", "go.cd.secrets.secrets-lookup");
+        request.setRequestBody(Secrets.lookupRequestBody(Secrets.configuration("http://127.0.0.1:8200", "token"),
+                Secrets.keys(keyCount, distinctPaths, KEYS_PER_PATH)));
+    }
+
+    @Benchmark
+    public GoPluginApiResponse lookup() throws Exception {
+        return executor.execute(request);
+    }
+}
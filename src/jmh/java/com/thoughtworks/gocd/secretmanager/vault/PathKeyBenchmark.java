@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolving the keys of one lookup against the common vault path.
+ */
+@State(Scope.Benchmark)
+public class PathKeyBenchmark {
+    @Param({"10", "1000"})
+    int keyCount;
+
+    @Param({"1", "10", "100"})
+    int distinctPaths;
+
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        keys = Secrets.keys(keyCount, distinctPaths, 10);
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        PathKey.Resolver resolver = new PathKey.Resolver(Secrets.VAULT_PATH);
+        for (String key : keys) {
+            blackhole.consume(resolver.resolve(key));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequest;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequestParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+
+/**
+ * Binding a secret config from its properties, and parsing a whole lookup request.
+ */
+@State(Scope.Benchmark)
+public class RequestBindingBenchmark {
+    @Param({"token", "approle", "cert"})
+    String authMethod;
+
+    @Param({"1", "1000"})
+    int keyCount;
+
+    private Map<String, String> properties;
+    private String requestBody;
+    private SecretConfigRequestParser requestParser;
+
+    @Setup
+    public void setUp() {
+        properties = Secrets.configuration("http://127.0.0.1:8200", authMethod);
+        requestBody = Secrets.lookupRequestBody(properties, Secrets.keys(keyCount, 10, 10));
+        requestParser = new SecretConfigRequestParser();
+    }
+
+    @Benchmark
+    public SecretConfig bindSecretConfig() {
+        return SecretConfig.fromJSON(properties);
+    }
+
+    @Benchmark
+    public SecretConfigRequest parseRequest() {
+        return requestParser.parse(requestBody);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.Secret;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static cd.go.plugin.base.GsonTransformer.toJson;
+
+/**
+ * Serializing a lookup response, streamed into a pre-sized buffer against building the list of secrets and
+ * serializing it with Gson. The {@code gc.alloc.rate.norm} of the GC profiler shows the bytes allocated per response.
+ */
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+    @Param({"10", "1000"})
+    int secretCount;
+
+    @Param({"32", "4096"})
+    int secretSize;
+
+    private String[] keys;
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        keys = Secrets.keys(secretCount, 10, secretCount);
+        values = new String[secretCount];
+        for (int i = 0; i < secretCount; i++) {
+            values[i] = Secrets.value(secretSize);
+        }
+    }
+
+    @Benchmark
+    public String streamingWriter() {
+        long chars = 0;
+        for (int i = 0; i < secretCount; i++) {
+            chars += keys[i].length() + values[i].length();
+        }
+        SecretsResponseWriter writer = SecretsResponseWriter.start(SecretsResponseWriter.expectedLength(secretCount, chars));
+        for (int i = 0; i < secretCount; i++) {
+            writer.secret(keys[i], values[i]);
+        }
+        return writer.finish();
+    }
+
+    @Benchmark
+    public String secretsList() {
+        List<Secret> secrets = new ArrayList<>();
+        for (int i = 0; i < secretCount; i++) {
+            secrets.add(new Secret(keys[i], values[i]));
+        }
+        return toJson(secrets);
+    }
+}
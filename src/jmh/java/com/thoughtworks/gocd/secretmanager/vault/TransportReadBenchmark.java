@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.response.LogicalResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Map;
+
+/**
+ * One KV v2 read over HTTP from the in-process {@link VaultEmulator}, through the Vault driver or one of the plugin
+ * transports. Run with {@code -t} to see how the transports behave under concurrent reads.
+ */
+@State(Scope.Benchmark)
+public class TransportReadBenchmark {
+    @Param({"driver", SecretConfig.POOLED_TRANSPORT, SecretConfig.HTTP2_TRANSPORT})
+    String transport;
+
+    @Param({"32", "4096"})
+    int secretSize;
+
+    private VaultEmulator vaultEmulator;
+    private VaultProvider vaultProvider;
+    private SecretConfig secretConfig;
+
+    @Setup
+    public void setUp() {
+        vaultEmulator = VaultEmulator.start().putSecret(Secrets.VAULT_PATH, Secrets.data(10, secretSize));
+        vaultProvider = new VaultProvider();
+        Map<String, String> properties = Secrets.configuration(vaultEmulator.url(), "token");
+        if (!"driver".equals(transport)) {
+            properties.put("Transport", transport);
+        }
+        secretConfig = SecretConfig.fromJSON(properties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        vaultProvider.invalidate(secretConfig);
+        vaultEmulator.close();
+    }
+
+    @Benchmark
+    public LogicalResponse read() throws VaultException {
+        return vaultProvider.clientFor(secretConfig).secretReader().read(Secrets.VAULT_PATH);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.Vault;
+import io.github.jopenlibs.vault.VaultException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+
+/**
+ * Getting an authenticated client for a secret config, either the registered one or, with {@code reuseClient} off, a
+ * newly built one which logs in again. AppRole logins go to the in-process {@link VaultEmulator}.
+ */
+@State(Scope.Benchmark)
+public class VaultProviderBenchmark {
+    @Param({"token", "approle"})
+    String authMethod;
+
+    @Param({"true", "false"})
+    boolean reuseClient;
+
+    private VaultEmulator vaultEmulator;
+    private VaultProvider vaultProvider;
+    private SecretConfig secretConfig;
+
+    @Setup
+    public void setUp() {
+        vaultEmulator = VaultEmulator.start().addAppRole(Secrets.ROLE_ID, Secrets.SECRET_ID);
+        vaultProvider = new VaultProvider();
+        secretConfig = SecretConfig.fromJSON(Secrets.configuration(vaultEmulator.url(), authMethod));
+    }
+
+    @TearDown
+    public void tearDown() {
+        vaultProvider.invalidate(secretConfig);
+        vaultEmulator.close();
+    }
+
+    @Benchmark
+    public Vault vaultFor() throws VaultException {
+        if (!reuseClient) {
+            vaultProvider.invalidate(secretConfig);
+        }
+        return vaultProvider.vaultFor(secretConfig);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import io.github.jopenlibs.vault.VaultException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Reads a set of Vault paths with at most {@code concurrency} reads in flight. The calling thread takes part in the
+ * reading, so a single path or a concurrency of one reads everything on the calling thread. The first failure stops
+ * further paths from being read and is rethrown once the reads already in flight have finished.
+ */
+class ConcurrentPathReader {
+    private static final Executor READERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "vault-path-reader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Executor executor;
+
+    ConcurrentPathReader() {
+        this(READERS);
+    }
+
+    ConcurrentPathReader(Executor executor) {
+        this.executor = executor;
+    }
+
+    Map<String, Map<String, String>> readAll(List<String> paths, int concurrency, PathReader reader) throws VaultException {
+        AtomicReferenceArray<Map<String, String>> results = new AtomicReferenceArray<>(paths.size());
+        AtomicInteger next = new AtomicInteger();
+        AtomicReference<VaultException> failure = new AtomicReference<>();
+
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < paths.size() && failure.get() == null; i = next.getAndIncrement()) {
+                try {
+                    results.set(i, reader.read(paths.get(i)));
+                } catch (VaultException e) {
+                    failure.compareAndSet(null, e);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, new VaultException(e));
+                }
+            }
+        };
+
+        List<CompletableFuture<Void>> helpers = new ArrayList<>();
+        for (int i = 1; i < Math.min(concurrency, paths.size()); i++) {
+            helpers.add(CompletableFuture.runAsync(worker, executor));
+        }
+        worker.run();
+        CompletableFuture.allOf(helpers.toArray(new CompletableFuture[0])).join();
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        Map<String, Map<String, String>> dataByPath = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            dataByPath.put(paths.get(i), results.get(i));
+        }
+        return dataByPath;
+    }
+
+    @FunctionalInterface
+    interface PathReader {
+        Map<String, String> read(String path) throws VaultException;
+    }
+}
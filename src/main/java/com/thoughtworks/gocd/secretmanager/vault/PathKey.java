@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A lookup key resolved against the common vault path of a secret config. Keys are in the form
+ * <tt>[/][optional/extra/path:]key</tt>, only <tt>a:b</tt> is treated specially, both <tt>a</tt> and <tt>a:b:c:...</tt>
+ * are looked up as keys at the common path. Extra paths are canonicalized so that spellings such as <tt>/a:b</tt>,
+ * <tt>a:b</tt>, <tt>a/:b</tt> and <tt>a//:b</tt> resolve to the same path.
+ */
+class PathKey {
+    final String path;
+    final String key;
+
+    PathKey(String path, String key) {
+        this.path = path;
+        this.key = key;
+    }
+
+    static PathKey from(String commonPath, String optionalPathKey) {
+        return new Resolver(commonPath).resolve(optionalPathKey);
+    }
+
+    /**
+     * Resolves the keys of one lookup, keys under the same extra path share one path instance.
+     */
+    static class Resolver {
+        private final String commonPath;
+        private final Map<String, String> paths = new HashMap<>();
+
+        Resolver(String commonPath) {
+            this.commonPath = commonPath;
+        }
+
+        PathKey resolve(String optionalPathKey) {
+            // trailing separators are ignored, as String.split drops trailing empty parts
+            int end = optionalPathKey.length();
+            while (end > 0 && optionalPathKey.charAt(end - 1) == ':') {
+                end--;
+            }
+
+            int separator = -1;
+            for (int i = 0; i < end; i++) {
+                if (optionalPathKey.charAt(i) == ':') {
+                    if (separator >= 0) {
+                        return new PathKey(commonPath, optionalPathKey);
+                    }
+                    separator = i;
+                }
+            }
+            if (separator < 0) {
+                return new PathKey(commonPath, optionalPathKey);
+            }
+
+            String subPath = canonicalPath(optionalPathKey, 0, separator);
+            String path = subPath.isEmpty() ? commonPath : paths.computeIfAbsent(subPath, sub -> commonPath + "/" + sub);
+            return new PathKey(path, optionalPathKey.substring(separator + 1, end));
+        }
+    }
+
+    /**
+     * Removes leading and trailing slashes from the given range and collapses repeated slashes, copying only when
+     * there is something to remove.
+     */
+    static String canonicalPath(String value, int from, int to) {
+        while (from < to && value.charAt(from) == '/') {
+            from++;
+        }
+        while (to > from && value.charAt(to - 1) == '/') {
+            to--;
+        }
+
+        int repeated = value.indexOf("//", from);
+        if (repeated < 0 || repeated >= to) {
+            return value.substring(from, to);
+        }
+
+        StringBuilder canonical = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c != '/' || value.charAt(i - 1) != '/') {
+                canonical.append(c);
+            }
+        }
+        return canonical.toString();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.LeasedTokenAuthenticator;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.TokenLeaseState;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticatorFactory;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretLocation;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.InMemorySpanExporter;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
+import com.thoughtworks.gocd.secretmanager.vault.transport.PooledHttpTransport;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+
+/**
+ * Reads the state of the client registry, the authenticators, the caches and the metrics of the plugin for JMX.
+ * Nothing is kept here, every attribute is read when asked for.
+ */
+class PluginRuntime implements PluginRuntimeMXBean {
+    private static final Logger LOGGER = Logger.getLoggerFor(PluginRuntime.class);
+    static final String OBJECT_NAME = "com.thoughtworks.gocd.secretmanager.vault:type=PluginRuntime";
+
+    private final VaultClientRegistry vaultClientRegistry;
+    private final VaultAuthenticatorFactory vaultAuthenticatorFactory;
+    private final SecretCache secretCache;
+    private final NegativeCache negativeCache;
+    private final LookupMetrics metrics;
+    private final Tracer tracer;
+
+    PluginRuntime(VaultClientRegistry vaultClientRegistry, VaultAuthenticatorFactory vaultAuthenticatorFactory,
+                  SecretCache secretCache, NegativeCache negativeCache, LookupMetrics metrics, Tracer tracer) {
+        this.vaultClientRegistry = vaultClientRegistry;
+        this.vaultAuthenticatorFactory = vaultAuthenticatorFactory;
+        this.secretCache = secretCache;
+        this.negativeCache = negativeCache;
+        this.metrics = metrics;
+        this.tracer = tracer;
+    }
+
+    /**
+     * Registers the runtime with the platform MBean server, replacing the one of an earlier initialization of the plugin.
+     * JMX is a convenience for operators, so a failure to register is only logged.
+     */
+    void register() {
+        register(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    void register(MBeanServer mBeanServer) {
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(name)) {
+                mBeanServer.unregisterMBean(name);
+            }
+            mBeanServer.registerMBean(this, name);
+        } catch (JMException | RuntimeException e) {
+            LOGGER.warn("Could not register the plugin runtime MBean [{}].", OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public int getClients() {
+        return vaultClientRegistry.size();
+    }
+
+    @Override
+    public int getSecretCacheEntries() {
+        return secretCache.size();
+    }
+
+    @Override
+    public int getNegativeCacheEntries() {
+        return negativeCache.size();
+    }
+
+    @Override
+    public Map<String, Long> getCacheHits() {
+        return metrics.counts(Count.CACHE_HITS);
+    }
+
+    @Override
+    public Map<String, Long> getCacheMisses() {
+        return metrics.counts(Count.CACHE_MISSES);
+    }
+
+    @Override
+    public Map<String, Double> getCacheHitRatios() {
+        Map<String, Long> hits = getCacheHits();
+        Map<String, Long> misses = getCacheMisses();
+        Map<String, Double> ratios = new TreeMap<>();
+        for (String vaultUrl : union(hits, misses)) {
+            long hit = hits.getOrDefault(vaultUrl, 0L);
+            long total = hit + misses.getOrDefault(vaultUrl, 0L);
+            ratios.put(vaultUrl, total == 0 ? 0 : (double) hit / total);
+        }
+        return ratios;
+    }
+
+    @Override
+    public List<TokenLeaseState> getTokenLeases() {
+        return vaultAuthenticatorFactory.leasedTokenAuthenticators().stream()
+                .flatMap(authenticator -> authenticator.leases().stream())
+                .toList();
+    }
+
+    @Override
+    public Map<String, Integer> getLeasedConnections() {
+        return pooledConnections(PooledHttpTransport::leasedConnections);
+    }
+
+    @Override
+    public Map<String, Integer> getIdleConnections() {
+        return pooledConnections(PooledHttpTransport::idleConnections);
+    }
+
+    @Override
+    public Map<String, Integer> getReadsInFlight() {
+        return metrics.readsInFlight();
+    }
+
+    @Override
+    public List<String> getRecentTraces() {
+        if (tracer.exporter() instanceof InMemorySpanExporter inMemory) {
+            return inMemory.tracesAsJson();
+        }
+        return List.of();
+    }
+
+    @Override
+    public int flushCache(String vaultUrl) {
+        int flushed = flush(location -> sameVault(vaultUrl, location.getVaultUrl()));
+        LOGGER.info("Flushed {} cache entries of [{}] over JMX.", flushed, vaultUrl);
+        return flushed;
+    }
+
+    @Override
+    public int flushCachedPath(String vaultUrl, String path) {
+        String canonicalPath = path == null ? "" : PathKey.canonicalPath(path, 0, path.length());
+        int flushed = flush(location -> sameVault(vaultUrl, location.getVaultUrl()) && canonicalPath.equals(location.getPath()));
+        LOGGER.info("Flushed {} cache entries of [{}] at path [{}] over JMX.", flushed, vaultUrl, canonicalPath);
+        return flushed;
+    }
+
+    @Override
+    public int refreshTokens(String vaultUrl) {
+        int refreshing = 0;
+        for (LeasedTokenAuthenticator authenticator : vaultAuthenticatorFactory.leasedTokenAuthenticators()) {
+            refreshing += authenticator.refresh(vaultUrl);
+        }
+        LOGGER.info("Refreshing {} tokens of [{}] as asked over JMX.", refreshing, isBlank(vaultUrl) ? "every vault" : vaultUrl);
+        return refreshing;
+    }
+
+    private int flush(Predicate<SecretLocation> matching) {
+        return secretCache.invalidate(matching) + negativeCache.invalidate(matching);
+    }
+
+    private Map<String, Integer> pooledConnections(ToIntFunction<PooledHttpTransport> connections) {
+        Map<String, Integer> byVault = new TreeMap<>();
+        for (VaultClient client : vaultClientRegistry.clients()) {
+            if (client.transport() instanceof PooledHttpTransport transport) {
+                byVault.merge(String.valueOf(client.vaultUrl()), connections.applyAsInt(transport), Integer::sum);
+            }
+        }
+        return byVault;
+    }
+
+    private static boolean sameVault(String vaultUrl, String other) {
+        return vaultUrl != null && other != null && withoutTrailingSlashes(vaultUrl).equals(withoutTrailingSlashes(other));
+    }
+
+    private static String withoutTrailingSlashes(String vaultUrl) {
+        int end = vaultUrl.length();
+        while (end > 0 && vaultUrl.charAt(end - 1) == '/') {
+            end--;
+        }
+        return vaultUrl.substring(0, end);
+    }
+
+    private static TreeSet<String> union(Map<String, ?> first, Map<String, ?> second) {
+        TreeSet<String> keys = new TreeSet<>(first.keySet());
+        keys.addAll(second.keySet());
+        return keys;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.TokenLeaseState;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime state of the plugin and controls for operators, registered in the JVM of the GoCD server as
+ * {@value PluginRuntime#OBJECT_NAME}. Maps are keyed by Vault URL; configs are told apart by their Vault URL as
+ * GoCD does not hand the id of a secret config to the plugin.
+ */
+public interface PluginRuntimeMXBean {
+    /**
+     * The number of Vault clients held by the client registry, one per distinct secret config.
+     */
+    int getClients();
+
+    int getSecretCacheEntries();
+
+    int getNegativeCacheEntries();
+
+    Map<String, Long> getCacheHits();
+
+    Map<String, Long> getCacheMisses();
+
+    Map<String, Double> getCacheHitRatios();
+
+    List<TokenLeaseState> getTokenLeases();
+
+    /**
+     * Pooled connections in use, for configs using the pooled transport.
+     */
+    Map<String, Integer> getLeasedConnections();
+
+    Map<String, Integer> getIdleConnections();
+
+    Map<String, Integer> getReadsInFlight();
+
+    /**
+     * The traces of the latest lookups as lines of OTLP/JSON, empty unless traces are kept in memory.
+     */
+    List<String> getRecentTraces();
+
+    /**
+     * Drops the cached secrets and the remembered misses of a Vault.
+     *
+     * @return the number of entries dropped
+     */
+    int flushCache(String vaultUrl);
+
+    /**
+     * Drops the cached secrets and the remembered misses of one path of a Vault, such as {@code secret/gocd}.
+     *
+     * @return the number of entries dropped
+     */
+    int flushCachedPath(String vaultUrl, String path);
+
+    /**
+     * Renews or replaces the tokens held for a Vault in the background, or those of every Vault when the URL is blank.
+     *
+     * @return the number of tokens being refreshed
+     */
+    int refreshTokens(String vaultUrl);
+}
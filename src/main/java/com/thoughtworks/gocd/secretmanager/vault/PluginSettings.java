@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+/**
+ * Process-wide settings which do not belong to any one secret config. They are read from system properties
+ * prefixed with {@code plugin.com.thoughtworks.gocd.secretmanager.vault.}, which can be set in {@code wrapper-properties.conf}.
+ */
+public final class PluginSettings {
+    public static final String PREFIX = "plugin.com.thoughtworks.gocd.secretmanager.vault.";
+
+    private PluginSettings() {
+    }
+
+    public static int intValue(String name, int defaultValue) {
+        return Integer.getInteger(PREFIX + name, defaultValue);
+    }
+
+    public static String stringValue(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import io.github.jopenlibs.vault.VaultException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges the path reads of lookups which arrive within a short window of each other. The first lookup for a batch key
+ * opens a batch and waits out the window while later lookups add their paths to it. It then reads every path of the
+ * batch once and each lookup gets back the data of the paths it asked for, or the error which failed the batch.
+ */
+class ReadBatcher {
+    private final Map<String, Batch> openBatches = new ConcurrentHashMap<>();
+    private final Sleeper sleeper;
+
+    ReadBatcher() {
+        this(window -> Thread.sleep(window.toMillis()));
+    }
+
+    // Used only in tests
+    ReadBatcher(Sleeper sleeper) {
+        this.sleeper = sleeper;
+    }
+
+    Map<String, Map<String, String>> readAll(String batchKey, Collection<String> paths, Duration window, BatchReader reader) throws VaultException {
+        if (paths.isEmpty() || window.isZero() || window.isNegative()) {
+            return reader.read(new ArrayList<>(paths));
+        }
+
+        while (true) {
+            Batch created = new Batch();
+            Batch batch = openBatches.computeIfAbsent(batchKey, key -> created);
+            if (!batch.add(paths)) {
+                continue;
+            }
+
+            Map<String, Map<String, String>> dataByPath = batch == created ? lead(batchKey, batch, window, reader) : batch.await();
+            Map<String, Map<String, String>> requested = new LinkedHashMap<>();
+            for (String path : paths) {
+                requested.put(path, dataByPath.get(path));
+            }
+            return requested;
+        }
+    }
+
+    private Map<String, Map<String, String>> lead(String batchKey, Batch batch, Duration window, BatchReader reader) throws VaultException {
+        try {
+            sleeper.sleep(window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        openBatches.remove(batchKey, batch);
+        try {
+            Map<String, Map<String, String>> dataByPath = reader.read(batch.close());
+            batch.result.complete(dataByPath);
+            return dataByPath;
+        } catch (Throwable e) {
+            batch.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static class Batch {
+        private final Set<String> paths = new LinkedHashSet<>();
+        private final CompletableFuture<Map<String, Map<String, String>>> result = new CompletableFuture<>();
+        private boolean closed;
+
+        synchronized boolean add(Collection<String> morePaths) {
+            if (closed) {
+                return false;
+            }
+            paths.addAll(morePaths);
+            return true;
+        }
+
+        synchronized List<String> close() {
+            closed = true;
+            return new ArrayList<>(paths);
+        }
+
+        Map<String, Map<String, String>> await() throws VaultException {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof VaultException) {
+                    throw (VaultException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface BatchReader {
+        Map<String, Map<String, String>> read(List<String> paths) throws VaultException;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(Duration window) throws InterruptedException;
+    }
+}
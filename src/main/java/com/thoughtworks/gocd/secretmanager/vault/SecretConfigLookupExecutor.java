@@ -18,97 +18,319 @@ package com.thoughtworks.gocd.secretmanager.vault;
 
 import cd.go.plugin.base.executors.secrets.LookupExecutor;
 import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
 import com.thoughtworks.go.plugin.api.response.DefaultGoPluginApiResponse;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
-import com.thoughtworks.gocd.secretmanager.vault.models.Secret;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretData;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretLocation;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SingleFlight;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequest;
-import io.github.jopenlibs.vault.Vault;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequestParser;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Span;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvPaths;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReadException;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReader;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.response.LogicalResponse;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-import static cd.go.plugin.base.GsonTransformer.fromJson;
 import static cd.go.plugin.base.GsonTransformer.toJson;
 import static java.util.Collections.singletonMap;
 
 class SecretConfigLookupExecutor extends LookupExecutor<SecretConfigRequest> {
     private static final Logger LOGGER = Logger.getLoggerFor(SecretConfigLookupExecutor.class);
+    // Stands in for the data of a path Vault denied reading, told apart from a path without secrets by identity
+    private static final Map<String, String> DENIED_PATH = Collections.unmodifiableMap(new HashMap<>());
     private final VaultProvider vaultProvider;
+    private final SecretCache secretCache;
+    private final NegativeCache negativeCache;
+    private final ConcurrentPathReader pathReader = new ConcurrentPathReader();
+    private final ReadBatcher readBatcher = new ReadBatcher();
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final SecretConfigRequestParser requestParser;
+    private final LookupMetrics metrics;
+    private final Tracer tracer;
 
     public SecretConfigLookupExecutor() {
-        this(new VaultProvider());
+        this(new VaultProvider(), new SecretCache(), new NegativeCache());
     }
 
     SecretConfigLookupExecutor(VaultProvider vaultProvider) {
+        this(vaultProvider, new SecretCache(), new NegativeCache());
+    }
+
+    SecretConfigLookupExecutor(VaultProvider vaultProvider, SecretCache secretCache, NegativeCache negativeCache) {
+        this(vaultProvider, secretCache, negativeCache, new SecretConfigRequestParser());
+    }
+
+    SecretConfigLookupExecutor(VaultProvider vaultProvider, SecretCache secretCache, NegativeCache negativeCache, SecretConfigRequestParser requestParser) {
+        this(vaultProvider, secretCache, negativeCache, requestParser, LookupMetrics.shared());
+    }
+
+    SecretConfigLookupExecutor(VaultProvider vaultProvider, SecretCache secretCache, NegativeCache negativeCache,
+                               SecretConfigRequestParser requestParser, LookupMetrics metrics) {
+        this(vaultProvider, secretCache, negativeCache, requestParser, metrics, Tracer.disabled());
+    }
+
+    SecretConfigLookupExecutor(VaultProvider vaultProvider, SecretCache secretCache, NegativeCache negativeCache,
+                               SecretConfigRequestParser requestParser, LookupMetrics metrics, Tracer tracer) {
         this.vaultProvider = vaultProvider;
+        this.secretCache = secretCache;
+        this.negativeCache = negativeCache;
+        this.requestParser = requestParser;
+        this.metrics = metrics;
+        this.tracer = tracer;
     }
 
 
+    @Override
+    public GoPluginApiResponse execute(GoPluginApiRequest request) {
+        final SecretConfigRequest lookupRequest;
+        try {
+            lookupRequest = parseRequest(request.requestBody());
+        } catch (IllegalArgumentException e) {
+            metrics.increment(Count.ERRORS, null);
+            LOGGER.error("Failed to read the secrets lookup request.", e);
+            return DefaultGoPluginApiResponse.error(toJson(singletonMap("message", "Failed to read the secrets lookup request: " + e.getMessage())));
+        }
+        return execute(lookupRequest);
+    }
+
     @Override
     protected GoPluginApiResponse execute(SecretConfigRequest request) {
+        final long started = System.nanoTime();
+        final String vaultUrl = request.getConfiguration() == null ? null : request.getConfiguration().getVaultUrl();
+        metrics.increment(Count.LOOKUPS, vaultUrl);
+        final Span lookup = tracer.startTrace("secrets.lookup").attribute("vault.url", String.valueOf(vaultUrl));
+        boolean authenticated = false;
         try {
-            final List<Secret> secrets = new ArrayList<>();
-            final Vault vault = vaultProvider.vaultFor(request.getConfiguration());
-
-            final Map<String, Map<String, String>> vaultCache = new HashMap<>();
-            for (String optionalPathKey : request.getKeys()) {
-                PathKey resolved = PathKey.from(request.getConfiguration().getVaultPath(), optionalPathKey);
-
-                Map<String, String> secretsFromVault = vaultCache.computeIfAbsent(resolved.path, p -> {
-                    try {
-                        LOGGER.debug("Looking up secrets from vault [{}] at resolved path [{}]",
-                                request.getConfiguration().getVaultUrl(), p);
-                        return vault.logical().read(p).getData();
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
+            final SecretConfig secretConfig = request.getConfiguration();
+            final VaultClient client = vaultProvider.clientFor(secretConfig, lookup);
+            authenticated = true;
+            final String authIdentity = secretConfig.authIdentity();
+            final Duration negativeCacheTtl = Duration.ofSeconds(secretConfig.getNegativeCacheTtlSeconds());
+
+            final List<String> keys = request.getKeys();
+            final List<PathKey> resolvedKeys = new ArrayList<>(keys.size());
+            final boolean[] knownMissing = new boolean[keys.size()];
+            final Set<String> pathsToRead = new LinkedHashSet<>();
+            final PathKey.Resolver resolver = new PathKey.Resolver(secretConfig.commonVaultPath());
+            for (int i = 0; i < keys.size(); i++) {
+                PathKey resolved = resolver.resolve(keys.get(i));
+                resolvedKeys.add(resolved);
+                knownMissing[i] = negativeCache.isMissing(locationOf(secretConfig, authIdentity, resolved.path), resolved.key);
+                if (!knownMissing[i]) {
+                    pathsToRead.add(resolved.path);
+                }
+            }
+            metrics.add(Count.KEYS, vaultUrl, keys.size());
+            metrics.add(Count.DISTINCT_PATHS, vaultUrl, pathsToRead.size());
+            lookup.attribute("keys", keys.size()).attribute("paths", pathsToRead.size());
+
+            final Map<String, Map<String, String>> secretsByPath = readBatcher.readAll(secretConfig.batchKey(), pathsToRead,
+                    Duration.ofMillis(secretConfig.getBatchWindowMilliseconds()),
+                    paths -> pathReader.readAll(paths, secretConfig.getMaxConcurrentReads(),
+                            path -> readPath(client, secretConfig, locationOf(secretConfig, authIdentity, path), negativeCacheTtl, lookup)));
+
+            final String[] values = new String[keys.size()];
+            int found = 0;
+            long keyAndValueChars = 0;
+            for (int i = 0; i < keys.size(); i++) {
+                PathKey resolved = resolvedKeys.get(i);
+                String secret = knownMissing[i] ? null : secretsByPath.get(resolved.path).get(resolved.key);
+
+                if (secret != null) {
+                    values[i] = secret;
+                    found++;
+                    keyAndValueChars += keys.get(i).length() + secret.length();
+                } else {
+                    if (!knownMissing[i] && secretsByPath.get(resolved.path) != DENIED_PATH) {
+                        negativeCache.keyMissing(locationOf(secretConfig, authIdentity, resolved.path), resolved.key, negativeCacheTtl);
                     }
-                });
-
-                Optional.ofNullable(secretsFromVault.get(resolved.key))
-                        .ifPresentOrElse(
-                                secret -> secrets.add(new Secret(optionalPathKey, secret)),
-                                () -> LOGGER.warn("No secret value found in vault [{}] path [{}] for key [{}]",
-                                        request.getConfiguration().getVaultUrl(), resolved.path, resolved.key)
-                        );
+                    warnSecretNotFound(secretConfig, resolved);
+                }
             }
+            metrics.add(Count.MISSING_KEYS, vaultUrl, keys.size() - found);
+            lookup.attribute("keys.missing", keys.size() - found);
 
-            return DefaultGoPluginApiResponse.success(toJson(secrets));
+            final Span serialize = lookup.child("response.serialize").attribute("secrets", found);
+            try {
+                SecretsResponseWriter response = SecretsResponseWriter.start(SecretsResponseWriter.expectedLength(found, keyAndValueChars));
+                for (int i = 0; i < keys.size(); i++) {
+                    if (values[i] != null) {
+                        response.secret(keys.get(i), values[i]);
+                    }
+                }
+                return DefaultGoPluginApiResponse.success(response.finish());
+            } finally {
+                serialize.end();
+            }
         } catch (Exception e) {
+            metrics.increment(Count.ERRORS, vaultUrl);
+            lookup.error(e);
             LOGGER.error("Failed to lookup secret from vault.", e);
+            if (request.getConfiguration() != null && !authenticated) {
+                vaultProvider.invalidate(request.getConfiguration());
+            }
             return DefaultGoPluginApiResponse.error(toJson(singletonMap("message", "Failed to lookup secrets from vault. See logs for more information.")));
+        } finally {
+            metrics.record(Phase.LOOKUP, vaultUrl, System.nanoTime() - started);
+            lookup.end();
+        }
+    }
+
+    private Map<String, String> readPath(VaultClient client, SecretConfig secretConfig, SecretLocation location, Duration negativeCacheTtl,
+                                         Span lookup) throws VaultException {
+        final String vaultUrl = secretConfig.getVaultUrl();
+        final Duration cacheTtl = Duration.ofSeconds(secretConfig.getCacheTtlSeconds());
+        // Hits and misses are only counted for configs which cache, so an uncached read does not count as a miss
+        final boolean cached = !cacheTtl.isZero() && !cacheTtl.isNegative();
+        final AtomicBoolean loaded = new AtomicBoolean();
+        final Span pathRead = lookup.child("path.read").attribute("vault.path", location.getPath());
+        try {
+            final SecretCache.Loader loader = loaderFor(client, secretConfig, location, pathRead);
+            Map<String, String> secrets = secretCache.get(location, cacheTtl,
+                    Duration.ofSeconds(secretConfig.getCacheStaleGraceSeconds()), () -> {
+                        loaded.set(true);
+                        return loader.load();
+                    }, versionCheckFor(client, location), refresh -> refreshInBackground(secretConfig, location, refresh));
+            if (cached) {
+                metrics.increment(loaded.get() ? Count.CACHE_MISSES : Count.CACHE_HITS, vaultUrl);
+            }
+            pathRead.attribute("cache", !cached ? "off" : loaded.get() ? "miss" : "hit");
+            return secrets;
+        } catch (VaultException e) {
+            if (e.getHttpStatusCode() == 403) {
+                LOGGER.warn("Vault [{}] denied reading path [{}], leaving its keys out of the lookup.", vaultUrl, location.getPath());
+                pathRead.attribute("path.denied", true);
+                return DENIED_PATH;
+            }
+            if (e.getHttpStatusCode() != 404) {
+                pathRead.error(e);
+                throw e;
+            }
+            if (cached) {
+                metrics.increment(Count.CACHE_MISSES, vaultUrl);
+            }
+            pathRead.attribute("cache", cached ? "miss" : "off").attribute("path.found", false);
+            negativeCache.pathMissing(location, negativeCacheTtl);
+            return Collections.emptyMap();
+        } finally {
+            pathRead.end();
         }
     }
 
-    private static class PathKey {
-        String path;
-        String key;
-        PathKey(String path, String key) {
-            this.path = path;
-            this.key = key;
+    /**
+     * Reads a stale cached path again once the lookup which served it may be over, with the client the config has by
+     * then and in a trace of its own.
+     */
+    private void refreshInBackground(SecretConfig secretConfig, SecretLocation location, SecretCache.Refresh refresh) throws VaultException {
+        final Span span = tracer.startTrace("secrets.refresh")
+                .attribute("vault.url", String.valueOf(secretConfig.getVaultUrl()))
+                .attribute("vault.path", location.getPath());
+        boolean authenticated = false;
+        try {
+            final VaultClient client = vaultProvider.clientFor(secretConfig, span);
+            authenticated = true;
+            refresh.with(loaderFor(client, secretConfig, location, span), versionCheckFor(client, location));
+        } catch (VaultException | RuntimeException e) {
+            span.error(e);
+            if (!authenticated) {
+                vaultProvider.invalidate(secretConfig);
+            }
+            throw e;
+        } finally {
+            span.end();
         }
+    }
 
-        static PathKey from(String commonVaultPath, String optionalPathKey) {
-            PathKey defaultPathKey = new PathKey(removeTrailingSlashes(commonVaultPath), optionalPathKey);
-            String[] parts = optionalPathKey.split(":");
-
-            // only `a:b` is treated specially, both `a` and `a:b:c:...` are treated as normal keys
-            if (parts.length == 2) {
-                // Remove leading /es from fhe first part
-                String subPath = parts[0].replaceFirst("^/+", "");
-                return subPath.isEmpty()
-                    ? new PathKey(defaultPathKey.path, parts[1])
-                    : new PathKey(defaultPathKey.path  + "/" + subPath, parts[1]);
+    private SecretCache.Loader loaderFor(VaultClient client, SecretConfig secretConfig, SecretLocation location, Span parent) {
+        final String vaultUrl = secretConfig.getVaultUrl();
+        return () -> singleFlight.read(location, () -> {
+            LOGGER.debug("Looking up secrets from vault [{}] at resolved path [{}]", vaultUrl, location.getPath());
+            long started = System.nanoTime();
+            LogicalResponse response;
+            Span vaultRead = parent.child("vault.read").attribute("server.address", String.valueOf(vaultUrl));
+            metrics.readStarted(vaultUrl);
+            try {
+                response = client.secretReader().read(location.getPath());
+                if (vaultRead.isRecording()) {
+                    vaultRead.attribute("retries", response.getRetries());
+                    if (response.getRestResponse() != null) {
+                        vaultRead.attribute("http.status", response.getRestResponse().getStatus());
+                    }
+                }
+            } catch (VaultException | RuntimeException e) {
+                if (e instanceof KvReadException) {
+                    int retries = ((KvReadException) e).getRetries();
+                    metrics.add(Count.RETRIES, vaultUrl, retries);
+                    vaultRead.attribute("retries", retries);
+                }
+                vaultRead.error(e);
+                throw e;
+            } finally {
+                metrics.readFinished(vaultUrl);
+                vaultRead.end();
             }
+            metrics.record(Phase.KV_READ, vaultUrl, System.nanoTime() - started);
+            metrics.add(Count.RETRIES, vaultUrl, response.getRetries());
+            if (isNotFound(response)) {
+                throw new VaultException("No secret found at path " + location.getPath(), 404);
+            }
+            if (!isOk(response)) {
+                int status = response.getRestResponse() == null ? 0 : response.getRestResponse().getStatus();
+                throw new VaultException("Vault responded with HTTP status code: " + status + " reading path " + location.getPath(), status);
+            }
+            return new SecretData(response.getData(), versionOf(response));
+        });
+    }
 
-            return defaultPathKey;
-        }
+    private static SecretCache.VersionCheck versionCheckFor(VaultClient client, SecretLocation location) {
+        final KvReader metadataReader = client.metadataReader();
+        return metadataReader == null ? null : () -> currentVersion(metadataReader, location.getPath());
+    }
 
-        private static String removeTrailingSlashes(String commonVaultPath) {
-            return commonVaultPath.replaceFirst("/+$", "");
+    private static Long currentVersion(KvReader metadataReader, String path) throws VaultException {
+        LogicalResponse response = metadataReader.read(KvPaths.metadataPathOf(path));
+        if (isNotFound(response) || response.getData() == null || response.getData().get("current_version") == null) {
+            return null;
         }
+        return Long.valueOf(response.getData().get("current_version"));
+    }
+
+    private static Long versionOf(LogicalResponse response) {
+        return response.getDataMetadata() == null ? null : response.getDataMetadata().getVersion();
+    }
+
+    private static boolean isOk(LogicalResponse response) {
+        return response.getRestResponse() != null && response.getRestResponse().getStatus() == 200;
+    }
+
+    private static boolean isNotFound(LogicalResponse response) {
+        return response.getRestResponse() != null && response.getRestResponse().getStatus() == 404;
+    }
+
+    private static SecretLocation locationOf(SecretConfig secretConfig, String authIdentity, String path) {
+        return new SecretLocation(secretConfig.getVaultUrl(), secretConfig.getNameSpace(), authIdentity, path);
+    }
+
+    private static void warnSecretNotFound(SecretConfig secretConfig, PathKey resolved) {
+        LOGGER.warn("No secret value found in vault [{}] path [{}] for key [{}]",
+                secretConfig.getVaultUrl(), resolved.path, resolved.key);
     }
 
     @Override
     protected SecretConfigRequest parseRequest(String body) {
-        return fromJson(body, SecretConfigRequest.class);
+        return requestParser.parse(body);
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the secrets lookup response straight into a buffer, producing the same JSON as
+ * {@code GsonTransformer.toJson(List<Secret>)} without building the list first. The buffer is sized up front from the
+ * expected length and belongs to the one response, so no secrets are left behind in it for the next.
+ */
+class SecretsResponseWriter {
+    // {"key":"","value":""} plus the separating comma
+    private static final int PER_SECRET_OVERHEAD = 22;
+
+    private final StringWriter buffer;
+    private final JsonWriter writer;
+
+    private SecretsResponseWriter(StringWriter buffer) {
+        this.buffer = buffer;
+        this.writer = new JsonWriter(buffer);
+        this.writer.setHtmlSafe(true);
+    }
+
+    static int expectedLength(int secretCount, long keyAndValueChars) {
+        return (int) Math.min(Integer.MAX_VALUE - 8, 2 + (long) secretCount * PER_SECRET_OVERHEAD + keyAndValueChars);
+    }
+
+    static SecretsResponseWriter start(int expectedLength) {
+        SecretsResponseWriter responseWriter = new SecretsResponseWriter(new StringWriter(expectedLength));
+        try {
+            responseWriter.writer.beginArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return responseWriter;
+    }
+
+    SecretsResponseWriter secret(String key, String value) {
+        try {
+            writer.beginObject().name("key").value(key).name("value").value(value).endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    String finish() {
+        try {
+            writer.endArray();
+            writer.flush();
+            return buffer.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReader;
+import com.thoughtworks.gocd.secretmanager.vault.transport.VaultTransport;
+import io.github.jopenlibs.vault.Vault;
+import io.github.jopenlibs.vault.VaultConfig;
+
+import java.util.Objects;
+
+/**
+ * A {@link Vault} together with the {@link VaultConfig} it was created from, so the token can be swapped when it is refreshed.
+ * Secrets are read with its {@link KvReader}, which goes through the driver or through the {@link VaultTransport} of the client.
+ * When cached secrets are revalidated it also has a reader for KV v2 metadata paths, which reads them as they are given.
+ */
+public class VaultClient {
+    private final Vault vault;
+    private final VaultConfig vaultConfig;
+    private final KvReader secretReader;
+    private final KvReader metadataReader;
+    private final VaultConfig metadataConfig;
+    private final VaultTransport transport;
+
+    public VaultClient(Vault vault, VaultConfig vaultConfig) {
+        this(vault, vaultConfig, path -> vault.logical().read(path), null, null, null);
+    }
+
+    public VaultClient(Vault vault, VaultConfig vaultConfig, KvReader secretReader, KvReader metadataReader,
+                       VaultConfig metadataConfig, VaultTransport transport) {
+        this.vault = vault;
+        this.vaultConfig = vaultConfig;
+        this.secretReader = secretReader;
+        this.metadataReader = metadataReader;
+        this.metadataConfig = metadataConfig;
+        this.transport = transport;
+    }
+
+    public Vault vault() {
+        return vault;
+    }
+
+    public String vaultUrl() {
+        return vaultConfig.getAddress();
+    }
+
+    public KvReader secretReader() {
+        return secretReader;
+    }
+
+    /**
+     * The reader for KV v2 metadata paths, {@code null} unless the secret config revalidates cached secrets.
+     */
+    public KvReader metadataReader() {
+        return metadataReader;
+    }
+
+    /**
+     * The transport the secrets are read through, {@code null} when they are read through the driver.
+     */
+    public VaultTransport transport() {
+        return transport;
+    }
+
+    /**
+     * Whether the client already sends the given token, that is whether authenticating reused the token of a lease.
+     */
+    boolean usesToken(String token) {
+        return token != null && token.equals(vaultConfig.getToken());
+    }
+
+    void useToken(String token) {
+        if (!Objects.equals(token, vaultConfig.getToken())) {
+            vaultConfig.token(token);
+        }
+        if (metadataConfig != null && !Objects.equals(token, metadataConfig.getToken())) {
+            metadataConfig.token(token);
+        }
+    }
+
+    void close() {
+        if (transport != null) {
+            transport.close();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.VaultException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds one ready to use {@link VaultClient} per distinct {@link SecretConfig}, keyed by {@link SecretConfig#fingerprint()}.
+ * A config whose connection or credentials change gets a new fingerprint and therefore a new client; clients not used
+ * for a while are evicted. Evicted and invalidated clients are only dropped from the registry, lookups which already
+ * hold one finish with it and its transport closes its connections as they are released.
+ * <p>
+ * Once no client is left for an auth identity its {@link EvictionListener} is told, so the token held for that
+ * identity can be dropped as well.
+ */
+public class VaultClientRegistry {
+    private static final Logger LOGGER = Logger.getLoggerFor(VaultClientRegistry.class);
+    public static final int DEFAULT_MAX_CLIENTS = 64;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final Map<String, Entry> clients = new ConcurrentHashMap<>();
+    private final int maxClients;
+    private final Duration idleTimeout;
+    private final Clock clock;
+    private final EvictionListener evictionListener;
+
+    public VaultClientRegistry() {
+        this(secretConfig -> {
+        });
+    }
+
+    public VaultClientRegistry(EvictionListener evictionListener) {
+        this(DEFAULT_MAX_CLIENTS, DEFAULT_IDLE_TIMEOUT, Clock.systemUTC(), evictionListener);
+    }
+
+    VaultClientRegistry(int maxClients, Duration idleTimeout, Clock clock) {
+        this(maxClients, idleTimeout, clock, secretConfig -> {
+        });
+    }
+
+    VaultClientRegistry(int maxClients, Duration idleTimeout, Clock clock, EvictionListener evictionListener) {
+        this.maxClients = maxClients;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.evictionListener = evictionListener;
+    }
+
+    public VaultClient clientFor(SecretConfig secretConfig, ClientFactory factory) throws VaultException {
+        evictIdleClients();
+
+        Entry entry = clients.computeIfAbsent(secretConfig.fingerprint(), fingerprint -> new Entry(secretConfig, clock.millis()));
+        VaultClient client = entry.get(secretConfig, factory, clock.millis());
+
+        if (clients.size() > maxClients) {
+            evictLeastRecentlyUsed();
+        }
+        return client;
+    }
+
+    public void invalidate(SecretConfig secretConfig) {
+        close(clients.remove(secretConfig.fingerprint()));
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    /**
+     * The clients which have been built so far.
+     */
+    public List<VaultClient> clients() {
+        return clients.values().stream()
+                .map(entry -> entry.client)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void evictIdleClients() {
+        long idleSince = clock.millis() - idleTimeout.toMillis();
+        List<Entry> evicted = new ArrayList<>();
+        clients.entrySet().removeIf(entry -> {
+            if (entry.getValue().lastUsedAt >= idleSince) {
+                return false;
+            }
+            evicted.add(entry.getValue());
+            return true;
+        });
+        evicted.forEach(this::evicted);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        clients.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedAt))
+                .limit(Math.max(0, clients.size() - maxClients))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(fingerprint -> {
+                    LOGGER.debug("Evicting vault client [{}] as the registry is full", fingerprint);
+                    Entry entry = clients.remove(fingerprint);
+                    if (entry != null) {
+                        evicted(entry);
+                    }
+                });
+    }
+
+    private void evicted(Entry entry) {
+        close(entry);
+        String authIdentity = entry.secretConfig.authIdentity();
+        if (clients.values().stream().noneMatch(other -> authIdentity.equals(other.secretConfig.authIdentity()))) {
+            evictionListener.evicted(entry.secretConfig);
+        }
+    }
+
+    private static void close(Entry entry) {
+        if (entry != null && entry.client != null) {
+            entry.client.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ClientFactory {
+        VaultClient create(SecretConfig secretConfig) throws VaultException;
+    }
+
+    /**
+     * Told about the config of an evicted client once no other client is left for its auth identity.
+     */
+    @FunctionalInterface
+    public interface EvictionListener {
+        void evicted(SecretConfig secretConfig);
+    }
+
+    private static class Entry {
+        private final SecretConfig secretConfig;
+        private volatile VaultClient client;
+        private volatile long lastUsedAt;
+
+        Entry(SecretConfig secretConfig, long createdAt) {
+            this.secretConfig = secretConfig;
+            this.lastUsedAt = createdAt;
+        }
+
+        VaultClient get(SecretConfig secretConfig, ClientFactory factory, long now) throws VaultException {
+            lastUsedAt = now;
+            if (client == null) {
+                synchronized (this) {
+                    if (client == null) {
+                        client = factory.create(secretConfig);
+                    }
+                }
+            }
+            return client;
+        }
+    }
+}
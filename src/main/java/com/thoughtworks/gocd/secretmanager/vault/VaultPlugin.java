@@ -28,11 +28,22 @@ import com.thoughtworks.go.plugin.api.annotation.Extension;
 import com.thoughtworks.go.plugin.api.exceptions.UnhandledRequestTypeException;
 import com.thoughtworks.go.plugin.api.request.GoPluginApiRequest;
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticatorFactory;
+import com.thoughtworks.gocd.secretmanager.vault.builders.VaultConfigBuilderFactory;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.PrometheusExporter;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.PrometheusFormat;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequestParser;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
 import com.thoughtworks.gocd.secretmanager.vault.validation.AppRoleAuthMethodValidator;
 import com.thoughtworks.gocd.secretmanager.vault.validation.AuthMethodValidator;
 import com.thoughtworks.gocd.secretmanager.vault.validation.CertAuthMethodValidator;
+import com.thoughtworks.gocd.secretmanager.vault.validation.SecretConfigValidators;
 import com.thoughtworks.gocd.secretmanager.vault.validation.TokenAuthMethodValidator;
+import com.thoughtworks.gocd.secretmanager.vault.validation.TuningPropertiesValidator;
 
 import static java.util.Collections.singletonList;
 
@@ -46,16 +57,29 @@ public class VaultPlugin implements GoPlugin {
 
     @Override
     public void initializeGoApplicationAccessor(GoApplicationAccessor goApplicationAccessor) {
+        VaultAuthenticatorFactory vaultAuthenticatorFactory = new VaultAuthenticatorFactory();
+        VaultClientRegistry vaultClientRegistry = new VaultClientRegistry(vaultAuthenticatorFactory::invalidate);
+        SecretCache secretCache = new SecretCache();
+        NegativeCache negativeCache = new NegativeCache();
+        VaultProvider vaultProvider = new VaultProvider(new VaultConfigBuilderFactory(), vaultAuthenticatorFactory, vaultClientRegistry);
+        Tracer tracer = Tracer.fromSettings();
+
         requestDispatcher = BaseBuilder
                 .forSecrets()
                 .v1()
                 .icon("/plugin-icon.png", "image/png")
                 .configMetadata(SecretConfig.class)
                 .configView("/secrets.template.html")
-                .validateSecretConfig(new AuthMethodValidator(), new CertAuthMethodValidator(),
-                        new AppRoleAuthMethodValidator(), new TokenAuthMethodValidator())
-                .lookup(new SecretConfigLookupExecutor())
+                .validateSecretConfig(new SecretConfigValidators(new AuthMethodValidator(), new CertAuthMethodValidator(),
+                        new AppRoleAuthMethodValidator(), new TokenAuthMethodValidator(), new TuningPropertiesValidator()))
+                .lookup(new SecretConfigLookupExecutor(vaultProvider, secretCache, negativeCache, new SecretConfigRequestParser(),
+                        LookupMetrics.shared(), tracer))
                 .build();
+
+        PluginRuntime runtime = new PluginRuntime(vaultClientRegistry, vaultAuthenticatorFactory, secretCache, negativeCache,
+                LookupMetrics.shared(), tracer);
+        runtime.register();
+        PrometheusExporter.startFromSettings(new PrometheusFormat(LookupMetrics.shared(), runtime));
     }
 
     @Override
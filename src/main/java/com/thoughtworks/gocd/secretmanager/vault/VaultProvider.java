@@ -23,34 +23,159 @@ import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticato
 import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticatorFactory;
 import com.thoughtworks.gocd.secretmanager.vault.builders.VaultConfigBuilder;
 import com.thoughtworks.gocd.secretmanager.vault.builders.VaultConfigBuilderFactory;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Span;
+import com.thoughtworks.gocd.secretmanager.vault.transport.Http2Transport;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReadException;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReader;
+import com.thoughtworks.gocd.secretmanager.vault.transport.PooledHttpTransport;
+import com.thoughtworks.gocd.secretmanager.vault.transport.TransportKvReader;
+import com.thoughtworks.gocd.secretmanager.vault.transport.VaultTransport;
 
 public class VaultProvider {
     private final VaultConfigBuilderFactory vaultConfigBuilderFactory;
     private final VaultAuthenticatorFactory vaultAuthenticatorFactory;
+    private final VaultClientRegistry vaultClientRegistry;
+    private final LookupMetrics metrics;
 
-//  Used only in tests
-    VaultProvider(VaultConfigBuilderFactory vaultConfigBuilderFactory, VaultAuthenticatorFactory vaultAuthenticatorFactory) {
+    VaultProvider(VaultConfigBuilderFactory vaultConfigBuilderFactory, VaultAuthenticatorFactory vaultAuthenticatorFactory,
+                  VaultClientRegistry vaultClientRegistry) {
+        this(vaultConfigBuilderFactory, vaultAuthenticatorFactory, vaultClientRegistry, LookupMetrics.shared());
+    }
+
+    VaultProvider(VaultConfigBuilderFactory vaultConfigBuilderFactory, VaultAuthenticatorFactory vaultAuthenticatorFactory,
+                  VaultClientRegistry vaultClientRegistry, LookupMetrics metrics) {
         this.vaultConfigBuilderFactory = vaultConfigBuilderFactory;
         this.vaultAuthenticatorFactory = vaultAuthenticatorFactory;
+        this.vaultClientRegistry = vaultClientRegistry;
+        this.metrics = metrics;
     }
 
     public VaultProvider() {
         this(new VaultConfigBuilderFactory(), new VaultAuthenticatorFactory());
     }
 
+    private VaultProvider(VaultConfigBuilderFactory vaultConfigBuilderFactory, VaultAuthenticatorFactory vaultAuthenticatorFactory) {
+        this(vaultConfigBuilderFactory, vaultAuthenticatorFactory, new VaultClientRegistry(vaultAuthenticatorFactory::invalidate));
+    }
+
     public Vault vaultFor(SecretConfig secretConfig) throws VaultException {
+        return clientFor(secretConfig).vault();
+    }
+
+    public VaultClient clientFor(SecretConfig secretConfig) throws VaultException {
+        return clientFor(secretConfig, Span.NOOP);
+    }
+
+    /**
+     * Gets the client of the config and authenticates it, tracing both as children of the given span.
+     */
+    public VaultClient clientFor(SecretConfig secretConfig, Span parent) throws VaultException {
+        long started = System.nanoTime();
+        Span acquire = parent.child("client.acquire").attribute("client.built", false);
+        VaultClient client;
+        try {
+            client = vaultClientRegistry.clientFor(secretConfig, config -> {
+                acquire.attribute("client.built", true);
+                Span build = acquire.child("config.build").attribute("transport", String.valueOf(config.getTransport()));
+                try {
+                    return newClient(config);
+                } finally {
+                    build.end();
+                }
+            });
+        } finally {
+            acquire.end();
+        }
+        long acquired = System.nanoTime();
+        metrics.record(Phase.CLIENT, secretConfig.getVaultUrl(), acquired - started);
+
+        Span authenticate = parent.child("authenticate").attribute("auth.method", String.valueOf(secretConfig.getAuthMethod()));
+        String token;
+        try {
+            VaultAuthenticator vaultAuthenticator = vaultAuthenticatorFactory.authenticatorFor(secretConfig);
+            token = vaultAuthenticator.authenticate(client.vault(), secretConfig);
+            if (authenticate.isRecording()) {
+                authenticate.attribute("token.reused", client.usesToken(token));
+            }
+        } finally {
+            authenticate.end();
+        }
+        metrics.record(Phase.AUTHENTICATE, secretConfig.getVaultUrl(), System.nanoTime() - acquired);
+
+        client.useToken(token);
+
+        return client;
+    }
+
+    /**
+     * Drops the cached client and token for the config, the next lookup builds and authenticates a new one. Used when
+     * authenticating failed, not for failed or denied reads: a leased token Vault no longer accepts is replaced once
+     * renewing it fails.
+     */
+    public void invalidate(SecretConfig secretConfig) {
+        vaultClientRegistry.invalidate(secretConfig);
+
+        VaultAuthenticator vaultAuthenticator = vaultAuthenticatorFactory.authenticatorFor(secretConfig);
+        if (vaultAuthenticator != null) {
+            vaultAuthenticator.invalidate(secretConfig);
+        }
+    }
+
+    private VaultClient newClient(SecretConfig secretConfig) throws VaultException {
         VaultConfigBuilder configBuilder = vaultConfigBuilderFactory.builderFor(secretConfig);
         VaultConfig vaultConfig = configBuilder.configFrom(secretConfig);
 
-        VaultAuthenticator vaultAuthenticator = vaultAuthenticatorFactory.authenticatorFor(secretConfig);
         Vault vault = Vault.create(vaultConfig)
                 .withRetries(secretConfig.getMaxRetries(), secretConfig.getRetryIntervalMilliseconds());
 
-        String token = vaultAuthenticator.authenticate(vault, secretConfig);
+        VaultTransport transport = transportFor(secretConfig, vaultConfig);
+        if (transport != null) {
+            return new VaultClient(vault, vaultConfig,
+                    transportReader(transport, vaultConfig, true, secretConfig),
+                    secretConfig.getCacheRevalidation() ? transportReader(transport, vaultConfig, false, secretConfig) : null,
+                    null, transport);
+        }
+
+        if (!secretConfig.getCacheRevalidation()) {
+            return new VaultClient(vault, vaultConfig, driverReader(vault, secretConfig), null, null, null);
+        }
 
-        vaultConfig.token(token);
+        VaultConfig metadataConfig = configBuilder.kvMetadataConfigFrom(secretConfig);
+        Vault metadataVault = Vault.create(metadataConfig)
+                .withRetries(secretConfig.getMaxRetries(), secretConfig.getRetryIntervalMilliseconds());
+
+        return new VaultClient(vault, vaultConfig, driverReader(vault, secretConfig),
+                path -> metadataVault.logical().read(path), metadataConfig, null);
+    }
+
+    /**
+     * Reads through the driver, which only throws once it has used up the retries of the config.
+     */
+    private static KvReader driverReader(Vault vault, SecretConfig secretConfig) {
+        int maxRetries = secretConfig.getMaxRetries();
+        return path -> {
+            try {
+                return vault.logical().read(path);
+            } catch (VaultException e) {
+                throw new KvReadException(e.getMessage(), e.getHttpStatusCode(), maxRetries, e);
+            }
+        };
+    }
+
+    private static VaultTransport transportFor(SecretConfig secretConfig, VaultConfig vaultConfig) throws VaultException {
+        if (SecretConfig.POOLED_TRANSPORT.equals(secretConfig.getTransport())) {
+            return new PooledHttpTransport(vaultConfig);
+        }
+        if (SecretConfig.HTTP2_TRANSPORT.equals(secretConfig.getTransport())) {
+            return new Http2Transport(vaultConfig);
+        }
+        return null;
+    }
 
-        return vault;
+    private static KvReader transportReader(VaultTransport transport, VaultConfig vaultConfig, boolean kvV2, SecretConfig secretConfig) {
+        return new TransportKvReader(transport, vaultConfig, kvV2, secretConfig.getMaxRetries(), secretConfig.getRetryIntervalMilliseconds());
     }
 }
@@ -21,11 +21,19 @@ import io.github.jopenlibs.vault.VaultException;
 import io.github.jopenlibs.vault.response.AuthResponse;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
-public class AppRoleAuthenticator implements VaultAuthenticator {
-    @Override
-    public String authenticate(Vault vault, SecretConfig secretConfig) throws VaultException {
-        AuthResponse authResponse = vault.auth().loginByAppRole(secretConfig.getRoleId(), secretConfig.getSecretId());
+import java.time.Clock;
+import java.util.concurrent.Executor;
+
+public class AppRoleAuthenticator extends LeasedTokenAuthenticator {
+    public AppRoleAuthenticator() {
+    }
 
-        return authResponse.getAuthClientToken();
+    AppRoleAuthenticator(Executor refresher, Clock clock) {
+        super(refresher, clock);
+    }
+
+    @Override
+    protected AuthResponse login(Vault vault, SecretConfig secretConfig) throws VaultException {
+        return vault.auth().loginByAppRole(secretConfig.getRoleId(), secretConfig.getSecretId());
     }
 }
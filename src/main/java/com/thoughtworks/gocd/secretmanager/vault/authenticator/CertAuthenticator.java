@@ -21,11 +21,52 @@ import io.github.jopenlibs.vault.VaultException;
 import io.github.jopenlibs.vault.response.AuthResponse;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
-public class CertAuthenticator implements VaultAuthenticator {
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+
+public class CertAuthenticator extends LeasedTokenAuthenticator {
+    private static final Pattern PEM_ARMOR_AND_WHITESPACE = Pattern.compile("-----[A-Z ]+-----|\\s");
+
+    public CertAuthenticator() {
+    }
+
+    CertAuthenticator(Executor refresher, Clock clock) {
+        super(refresher, clock);
+    }
+
+    @Override
+    protected AuthResponse login(Vault vault, SecretConfig secretConfig) throws VaultException {
+        return vault.auth().loginByCert();
+    }
+
+    /**
+     * The cert-auth token belongs to the client certificate, so it is shared by every config presenting
+     * the same certificate to the same Vault and namespace.
+     */
     @Override
-    public String authenticate(Vault vault, SecretConfig secretConfig) throws VaultException {
-        AuthResponse authResponse = vault.auth().loginByCert();
+    protected String identityOf(SecretConfig secretConfig) {
+        return String.join("|", secretConfig.getVaultUrl(), String.valueOf(secretConfig.getNameSpace()),
+                certificateFingerprint(secretConfig.getClientPem()));
+    }
+
+    static String certificateFingerprint(String clientPem) {
+        if (isBlank(clientPem)) {
+            return "";
+        }
 
-        return authResponse.getAuthClientToken();
+        try {
+            String certificate = PEM_ARMOR_AND_WHITESPACE.matcher(clientPem).replaceAll("");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(certificate.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.authenticator;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.VaultClientRegistry;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.Vault;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.response.AuthResponse;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+
+/**
+ * Base for the auth methods which have to log in to get a token. The token is reused until the configured
+ * percentage of its lease is used up, after which a single background task renews it (or logs in again when
+ * it can not be renewed) while lookups keep using the current token. Only an expired token blocks lookups,
+ * and concurrent lookups then wait for one login instead of each logging in.
+ * <p>
+ * Tokens of identities which no lookup authenticated as for the idle timeout of the {@link VaultClientRegistry} are
+ * dropped, so rotated credentials do not leave their token renewed and reported forever.
+ */
+public abstract class LeasedTokenAuthenticator implements VaultAuthenticator {
+    private static final Logger LOGGER = Logger.getLoggerFor(LeasedTokenAuthenticator.class);
+    private static final Executor REFRESHER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "vault-token-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Keys the labels leases are reported under, made anew on every start so they cannot be matched to credentials
+    private static final byte[] LABEL_KEY = randomKey();
+
+    private final Map<String, TokenHolder> tokens = new ConcurrentHashMap<>();
+    private final Executor refresher;
+    private final Clock clock;
+    private final Duration idleTimeout;
+
+    protected LeasedTokenAuthenticator() {
+        this(REFRESHER, Clock.systemUTC());
+    }
+
+    LeasedTokenAuthenticator(Executor refresher, Clock clock) {
+        this(refresher, clock, VaultClientRegistry.DEFAULT_IDLE_TIMEOUT);
+    }
+
+    LeasedTokenAuthenticator(Executor refresher, Clock clock, Duration idleTimeout) {
+        this.refresher = refresher;
+        this.clock = clock;
+        this.idleTimeout = idleTimeout;
+    }
+
+    protected abstract AuthResponse login(Vault vault, SecretConfig secretConfig) throws VaultException;
+
+    /**
+     * Logins are shared between all configs with the same identity.
+     */
+    protected String identityOf(SecretConfig secretConfig) {
+        return secretConfig.authIdentity();
+    }
+
+    @Override
+    public String authenticate(Vault vault, SecretConfig secretConfig) throws VaultException {
+        evictIdleTokens();
+        return tokens.computeIfAbsent(identityOf(secretConfig), identity -> new TokenHolder())
+                .tokenFor(vault, secretConfig);
+    }
+
+    @Override
+    public void invalidate(SecretConfig secretConfig) {
+        tokens.remove(identityOf(secretConfig));
+    }
+
+    /**
+     * The state of the token held for each auth identity which has logged in, each identity reported by its
+     * {@link #labelOf label}.
+     */
+    public List<TokenLeaseState> leases() {
+        Instant now = clock.instant();
+        List<TokenLeaseState> leases = new ArrayList<>();
+        tokens.forEach((identity, holder) -> {
+            TokenLease lease = holder.lease;
+            SecretConfig secretConfig = holder.secretConfig;
+            if (lease != null && secretConfig != null) {
+                leases.add(stateOf(identity, secretConfig, lease, holder.refreshing.get(), now));
+            }
+        });
+        return leases;
+    }
+
+    /**
+     * Renews or replaces, in the background, the tokens held for the given Vault, or for every Vault when none is given.
+     * Lookups keep using the current tokens meanwhile, as they do for a refresh which is due.
+     *
+     * @return the number of refreshes started
+     */
+    public int refresh(String vaultUrl) {
+        int started = 0;
+        for (TokenHolder holder : tokens.values()) {
+            if (holder.refreshNow(vaultUrl)) {
+                started++;
+            }
+        }
+        return started;
+    }
+
+    private void evictIdleTokens() {
+        Instant idleSince = clock.instant().minus(idleTimeout);
+        tokens.values().removeIf(holder -> holder.lastUsedAt.isBefore(idleSince));
+    }
+
+    private TokenLease refresh(Vault vault, SecretConfig secretConfig, TokenLease current) throws VaultException {
+        if (current.isRenewable()) {
+            try {
+                TokenLease renewed = TokenLease.from(vault.auth().renewSelf(), clock.instant());
+                if (current.getToken().equals(renewed.getToken()) && renewed.getLeaseDuration().compareTo(current.getLeaseDuration()) >= 0) {
+                    return renewed;
+                }
+                LOGGER.debug("Renewal did not extend the token lease for [{}], logging in again.", secretConfig.getVaultUrl());
+            } catch (VaultException e) {
+                LOGGER.warn("Failed to renew token for [{}], logging in again.", secretConfig.getVaultUrl());
+            }
+        }
+
+        return TokenLease.from(login(vault, secretConfig), clock.instant());
+    }
+
+    private static TokenLeaseState stateOf(String identity, SecretConfig secretConfig, TokenLease lease, boolean refreshing, Instant now) {
+        boolean expires = !lease.getLeaseDuration().isZero();
+        Instant expiresAt = lease.getIssuedAt().plus(lease.getLeaseDuration());
+        return new TokenLeaseState(labelOf(identity), secretConfig.getVaultUrl(), secretConfig.getAuthMethod(),
+                lease.getIssuedAt().toString(), expires ? expiresAt.toString() : "",
+                lease.getLeaseDuration().getSeconds(), expires ? Math.max(0, Duration.between(now, expiresAt).getSeconds()) : 0,
+                lease.isRenewable(), lease.isExpired(now), refreshing);
+    }
+
+    /**
+     * An opaque label for an auth identity, stable while the plugin runs. The identity is a plain digest of the Vault
+     * URL and the credentials, publishing it would let anyone who sees it check guessed credentials against it.
+     */
+    static String labelOf(String identity) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(LABEL_KEY, "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(identity.getBytes(StandardCharsets.UTF_8)), 0, 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private class TokenHolder {
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile Instant lastUsedAt = clock.instant();
+        private volatile TokenLease lease;
+        private volatile Vault vault;
+        private volatile SecretConfig secretConfig;
+
+        String tokenFor(Vault vault, SecretConfig secretConfig) throws VaultException {
+            this.lastUsedAt = clock.instant();
+            this.vault = vault;
+            this.secretConfig = secretConfig;
+            TokenLease current = lease;
+
+            if (current == null || current.isExpired(clock.instant())) {
+                synchronized (this) {
+                    current = lease;
+                    if (current == null || current.isExpired(clock.instant())) {
+                        current = TokenLease.from(login(vault, secretConfig), clock.instant());
+                        lease = current;
+                    }
+                }
+            } else if (current.isDueForRefresh(clock.instant(), secretConfig.getTokenRenewalPercentage())
+                    && refreshing.compareAndSet(false, true)) {
+                refreshInBackground(vault, secretConfig, current);
+            }
+
+            return current.getToken();
+        }
+
+        boolean refreshNow(String vaultUrl) {
+            TokenLease current = lease;
+            Vault currentVault = vault;
+            SecretConfig currentConfig = secretConfig;
+            if (current == null || currentConfig == null || !(isBlank(vaultUrl) || vaultUrl.equals(currentConfig.getVaultUrl()))
+                    || !refreshing.compareAndSet(false, true)) {
+                return false;
+            }
+            refreshInBackground(currentVault, currentConfig, current);
+            return true;
+        }
+
+        private void refreshInBackground(Vault vault, SecretConfig secretConfig, TokenLease current) {
+            refresher.execute(() -> {
+                try {
+                    lease = refresh(vault, secretConfig, current);
+                } catch (Exception e) {
+                    LOGGER.error("Failed to refresh token for [{}].", secretConfig.getVaultUrl(), e);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+}
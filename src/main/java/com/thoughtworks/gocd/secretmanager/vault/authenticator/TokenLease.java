@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.authenticator;
+
+import io.github.jopenlibs.vault.response.AuthResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A client token handed out by Vault together with its lease. A zero lease duration means the token does not expire.
+ */
+public class TokenLease {
+    private final String token;
+    private final Instant issuedAt;
+    private final Duration leaseDuration;
+    private final boolean renewable;
+
+    TokenLease(String token, Instant issuedAt, Duration leaseDuration, boolean renewable) {
+        this.token = token;
+        this.issuedAt = issuedAt;
+        this.leaseDuration = leaseDuration;
+        this.renewable = renewable;
+    }
+
+    static TokenLease from(AuthResponse authResponse, Instant issuedAt) {
+        return new TokenLease(authResponse.getAuthClientToken(), issuedAt,
+                Duration.ofSeconds(authResponse.getAuthLeaseDuration()), authResponse.isAuthRenewable());
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public boolean isRenewable() {
+        return renewable;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !leaseDuration.isZero() && !now.isBefore(issuedAt.plus(leaseDuration));
+    }
+
+    public boolean isDueForRefresh(Instant now, int renewalPercentage) {
+        return !leaseDuration.isZero() && !now.isBefore(issuedAt.plus(leaseDuration.multipliedBy(renewalPercentage).dividedBy(100)));
+    }
+}
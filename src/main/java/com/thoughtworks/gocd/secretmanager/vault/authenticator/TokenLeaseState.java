@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.authenticator;
+
+import lombok.Value;
+
+/**
+ * What can be told about a leased token without giving away the token itself. The identity is an opaque label for
+ * the auth identity, times are ISO-8601 instants and the expiry is empty for a token which does not expire.
+ */
+@Value
+public class TokenLeaseState {
+    String identity;
+    String vaultUrl;
+    String authMethod;
+    String issuedAt;
+    String expiresAt;
+    long leaseSeconds;
+    long remainingSeconds;
+    boolean renewable;
+    boolean expired;
+    boolean refreshing;
+}
@@ -22,4 +22,7 @@ import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
 public interface VaultAuthenticator {
     String authenticate(Vault vault, SecretConfig secretConfig) throws VaultException;
+
+    default void invalidate(SecretConfig secretConfig) {
+    }
 }
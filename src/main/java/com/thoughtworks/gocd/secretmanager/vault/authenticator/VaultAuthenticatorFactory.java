@@ -18,6 +18,7 @@ package com.thoughtworks.gocd.secretmanager.vault.authenticator;
 
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
+import java.util.List;
 import java.util.Map;
 
 public class VaultAuthenticatorFactory {
@@ -30,4 +31,24 @@ public class VaultAuthenticatorFactory {
     public VaultAuthenticator authenticatorFor(SecretConfig secretConfig) {
         return authMethodToAuthenticator.get(secretConfig.getAuthMethod());
     }
+
+    /**
+     * Drops the token held for the config, when its auth method holds one.
+     */
+    public void invalidate(SecretConfig secretConfig) {
+        VaultAuthenticator vaultAuthenticator = authenticatorFor(secretConfig);
+        if (vaultAuthenticator != null) {
+            vaultAuthenticator.invalidate(secretConfig);
+        }
+    }
+
+    /**
+     * The authenticators which log in and hold leased tokens.
+     */
+    public List<LeasedTokenAuthenticator> leasedTokenAuthenticators() {
+        return authMethodToAuthenticator.values().stream()
+                .filter(LeasedTokenAuthenticator.class::isInstance)
+                .map(LeasedTokenAuthenticator.class::cast)
+                .toList();
+    }
 }
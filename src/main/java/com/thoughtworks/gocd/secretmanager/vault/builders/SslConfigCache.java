@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.builders;
+
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.SslConfig;
+import io.github.jopenlibs.vault.VaultException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Built {@link SslConfig}s keyed by a hash of the PEMs they are built from. Building one parses the certificates and
+ * the key and creates key and trust stores, so it is done once per distinct set of PEMs rather than for every client.
+ * Clients sharing an {@link SslConfig} also share its {@link javax.net.ssl.SSLContext}, which lets them resume each
+ * other's TLS sessions. At most {@code sslConfigCache.maxEntries} are held, the least recently used one is evicted first.
+ */
+class SslConfigCache {
+    static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Map<String, SslConfig> sslConfigs;
+
+    SslConfigCache() {
+        this(PluginSettings.intValue("sslConfigCache.maxEntries", DEFAULT_MAX_ENTRIES));
+    }
+
+    SslConfigCache(int maxEntries) {
+        this.sslConfigs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SslConfig> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param kind tells apart builders which use different PEMs of the same secret config
+     */
+    SslConfig sslConfigFor(String kind, SecretConfig secretConfig, Builder builder) throws VaultException {
+        String key = keyOf(kind, secretConfig);
+        SslConfig sslConfig = cached(key);
+        if (sslConfig != null) {
+            return sslConfig;
+        }
+
+        SslConfig built = builder.build();
+        synchronized (this) {
+            return sslConfigs.computeIfAbsent(key, k -> built);
+        }
+    }
+
+    synchronized int size() {
+        return sslConfigs.size();
+    }
+
+    private synchronized SslConfig cached(String key) {
+        return sslConfigs.get(key);
+    }
+
+    private static String keyOf(String kind, SecretConfig secretConfig) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : new String[]{kind, secretConfig.getServerPem(), secretConfig.getClientPem(), secretConfig.getClientKeyPem()}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    interface Builder {
+        SslConfig build() throws VaultException;
+    }
+}
@@ -21,16 +21,60 @@ import io.github.jopenlibs.vault.VaultConfig;
 import io.github.jopenlibs.vault.VaultException;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.*;
 
+/**
+ * Builds the {@link VaultConfig} for a secret config. A built config is kept per builder, engine version and
+ * {@link SecretConfig#fingerprint()}, so a client created again for an unchanged secret config, such as after it was
+ * invalidated or evicted, reuses it rather than parsing the address, namespace and TLS settings again. The driver reads
+ * the token from the config on every request, the client attaches its current token to it.
+ */
 public abstract class VaultConfigBuilder {
+    private static final SslConfigCache SSL_CONFIGS = new SslConfigCache();
+    private static final int MAX_CONFIGS = 64;
+    private static final Map<String, VaultConfig> CONFIGS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VaultConfig> eldest) {
+            return size() > MAX_CONFIGS;
+        }
+    };
+
     public VaultConfig configFrom(SecretConfig secretConfig) throws VaultException {
+        return configFrom(secretConfig, 2);
+    }
+
+    /**
+     * A config which reads paths as they are given, used to read the KV v2 {@code metadata} of a path.
+     */
+    public VaultConfig kvMetadataConfigFrom(SecretConfig secretConfig) throws VaultException {
+        return configFrom(secretConfig, 1);
+    }
+
+    private VaultConfig configFrom(SecretConfig secretConfig, int engineVersion) throws VaultException {
+        String key = getClass().getName() + "/" + engineVersion + "/" + secretConfig.fingerprint();
+        synchronized (CONFIGS) {
+            VaultConfig cached = CONFIGS.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        VaultConfig built = build(secretConfig, engineVersion);
+        synchronized (CONFIGS) {
+            return CONFIGS.computeIfAbsent(key, k -> built);
+        }
+    }
+
+    private VaultConfig build(SecretConfig secretConfig, int engineVersion) throws VaultException {
         VaultConfig request = new VaultConfig()
-                .engineVersion(2)
+                .engineVersion(engineVersion)
                 .address(secretConfig.getVaultUrl())
                 .openTimeout(secretConfig.getConnectionTimeout())
                 .readTimeout(secretConfig.getReadTimeout())
-                .sslConfig(sslConfig(secretConfig).build());
+                .sslConfig(SSL_CONFIGS.sslConfigFor(getClass().getName(), secretConfig, () -> sslConfig(secretConfig).build()));
         if (!isBlank(secretConfig.getNameSpace()))
             request = request.nameSpace(secretConfig.getNameSpace());
         return request.build();
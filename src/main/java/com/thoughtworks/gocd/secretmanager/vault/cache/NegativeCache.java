@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Remembers, for a short while, paths which do not exist in Vault and keys which are missing at a path, so that
+ * pipelines referring to them do not hit Vault on every lookup. Kept apart from the {@link SecretCache}, with its own
+ * limit of {@code negativeCache.maxEntries} misses.
+ */
+public class NegativeCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final Map<Miss, Instant> misses;
+    private final Clock clock;
+
+    public NegativeCache() {
+        this(PluginSettings.intValue("negativeCache.maxEntries", DEFAULT_MAX_ENTRIES), Clock.systemUTC());
+    }
+
+    NegativeCache(int maxEntries, Clock clock) {
+        this.clock = clock;
+        this.misses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Miss, Instant> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public boolean isMissing(SecretLocation location, String key) {
+        return isMissing(new Miss(location, null)) || isMissing(new Miss(location, key));
+    }
+
+    public void pathMissing(SecretLocation location, Duration ttl) {
+        record(new Miss(location, null), ttl);
+    }
+
+    public void keyMissing(SecretLocation location, String key, Duration ttl) {
+        record(new Miss(location, key), ttl);
+    }
+
+    public synchronized int size() {
+        return misses.size();
+    }
+
+    /**
+     * Forgets the misses recorded for the matching locations.
+     *
+     * @return the number of misses forgotten
+     */
+    public synchronized int invalidate(Predicate<SecretLocation> matching) {
+        int before = misses.size();
+        misses.keySet().removeIf(miss -> matching.test(miss.location));
+        return before - misses.size();
+    }
+
+    private synchronized boolean isMissing(Miss miss) {
+        Instant expiresAt = misses.get(miss);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (clock.instant().isBefore(expiresAt)) {
+            return true;
+        }
+        misses.remove(miss);
+        return false;
+    }
+
+    private synchronized void record(Miss miss, Duration ttl) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        misses.put(miss, clock.instant().plus(ttl));
+    }
+
+    private static class Miss {
+        private final SecretLocation location;
+        private final String key;
+
+        Miss(SecretLocation location, String key) {
+            this.location = location;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Miss)) return false;
+            Miss miss = (Miss) o;
+            return location.equals(miss.location) && Objects.equals(key, miss.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(location, key);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+import io.github.jopenlibs.vault.VaultException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Process-wide read-through cache of the data held at Vault paths. Secret configs opt in by setting a TTL, at most
+ * {@code secretCache.maxEntries} paths are held and the least recently used one is evicted to make room.
+ * <p>
+ * Entries only remember when they were read, each lookup judges their age by the TTL and stale grace period of its
+ * own config, so configs sharing a path do not get each other's caching.
+ * <p>
+ * Once its TTL has passed an entry is still served for the stale grace period of the config, while a single
+ * background task reads the path again. A slow or unavailable Vault therefore does not hold up lookups until
+ * the grace period is over as well.
+ * <p>
+ * When a {@link VersionCheck} is given, an expired entry which was read at a known KV v2 version is first checked
+ * against the current version of the path and only read again when that version has changed.
+ * <p>
+ * A {@link BackgroundRefresh} sets up the loader and version check of a background read itself, as the lookup which
+ * found the entry stale, and whatever it read with, may be over by the time the read runs.
+ */
+public class SecretCache {
+    private static final Logger LOGGER = Logger.getLoggerFor(SecretCache.class);
+    private static final Executor REFRESHER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "vault-secret-cache-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final Map<SecretLocation, Entry> entries;
+    private final Clock clock;
+    private final Executor refresher;
+
+    public SecretCache() {
+        this(PluginSettings.intValue("secretCache.maxEntries", DEFAULT_MAX_ENTRIES), Clock.systemUTC(), REFRESHER);
+    }
+
+    SecretCache(int maxEntries, Clock clock, Executor refresher) {
+        this.clock = clock;
+        this.refresher = refresher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SecretLocation, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public Map<String, String> get(SecretLocation location, Duration ttl, Duration staleGrace, Loader loader) throws VaultException {
+        return get(location, ttl, staleGrace, loader, null);
+    }
+
+    public Map<String, String> get(SecretLocation location, Duration ttl, Duration staleGrace, Loader loader,
+                                   VersionCheck versionCheck) throws VaultException {
+        return get(location, ttl, staleGrace, loader, versionCheck, refresh -> refresh.with(loader, versionCheck));
+    }
+
+    public Map<String, String> get(SecretLocation location, Duration ttl, Duration staleGrace, Loader loader,
+                                   VersionCheck versionCheck, BackgroundRefresh backgroundRefresh) throws VaultException {
+        if (ttl.isZero() || ttl.isNegative()) {
+            return loader.load().getData();
+        }
+
+        Entry entry = entry(location);
+        Instant now = clock.instant();
+        if (entry != null && now.isBefore(entry.loadedAt.plus(ttl))) {
+            return entry.data;
+        }
+
+        if (entry != null && now.isBefore(entry.loadedAt.plus(ttl).plus(staleGrace))) {
+            if (entry.refreshing.compareAndSet(false, true)) {
+                refreshInBackground(location, backgroundRefresh, entry);
+            }
+            return entry.data;
+        }
+
+        return refresh(location, loader, versionCheck, entry).data;
+    }
+
+    private Entry refresh(SecretLocation location, Loader loader, VersionCheck versionCheck, Entry expired) throws VaultException {
+        if (versionCheck != null && expired != null && expired.version != null && isUnchanged(location, versionCheck, expired.version)) {
+            Entry entry = new Entry(expired.data, expired.version, clock.instant());
+            put(location, entry);
+            return entry;
+        }
+        return load(location, loader);
+    }
+
+    private boolean isUnchanged(SecretLocation location, VersionCheck versionCheck, Long version) {
+        try {
+            return version.equals(versionCheck.currentVersion());
+        } catch (Exception e) {
+            LOGGER.debug("Could not check the current version of the secrets at [{}], reading them again.", location.getPath(), e);
+            return false;
+        }
+    }
+
+    private Entry load(SecretLocation location, Loader loader) throws VaultException {
+        Instant loadedAt = clock.instant();
+        SecretData loaded = loader.load();
+        Entry entry = new Entry(Collections.unmodifiableMap(new HashMap<>(loaded.getData())), loaded.getVersion(), loadedAt);
+        put(location, entry);
+        return entry;
+    }
+
+    private void refreshInBackground(SecretLocation location, BackgroundRefresh backgroundRefresh, Entry stale) {
+        refresher.execute(() -> {
+            try {
+                backgroundRefresh.run((loader, versionCheck) -> refresh(location, loader, versionCheck, stale));
+            } catch (Exception e) {
+                LOGGER.warn("Failed to refresh secrets at [{}], serving the cached secrets until they are past the stale grace period.",
+                        location.getPath(), e);
+            } finally {
+                stale.refreshing.set(false);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops the cached data of the matching locations, the next lookup of each reads it from Vault again.
+     *
+     * @return the number of paths dropped
+     */
+    public synchronized int invalidate(Predicate<SecretLocation> matching) {
+        int before = entries.size();
+        entries.keySet().removeIf(matching);
+        return before - entries.size();
+    }
+
+    private synchronized Entry entry(SecretLocation location) {
+        return entries.get(location);
+    }
+
+    private synchronized void put(SecretLocation location, Entry entry) {
+        entries.put(location, entry);
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        SecretData load() throws VaultException;
+    }
+
+    /**
+     * Reads a stale entry again in the background, handing {@link Refresh#with} the loader and version check to use.
+     */
+    @FunctionalInterface
+    public interface BackgroundRefresh {
+        void run(Refresh refresh) throws VaultException;
+    }
+
+    @FunctionalInterface
+    public interface Refresh {
+        void with(Loader loader, VersionCheck versionCheck) throws VaultException;
+    }
+
+    /**
+     * Looks up the current KV v2 version of a path, {@code null} when it is not known.
+     */
+    @FunctionalInterface
+    public interface VersionCheck {
+        Long currentVersion() throws VaultException;
+    }
+
+    private static class Entry {
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final Map<String, String> data;
+        private final Long version;
+        private final Instant loadedAt;
+
+        Entry(Map<String, String> data, Long version, Instant loadedAt) {
+            this.data = data;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
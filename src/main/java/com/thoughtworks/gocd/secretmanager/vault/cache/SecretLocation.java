@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import lombok.Value;
+
+/**
+ * Where a secret was read from. The auth identity is part of it so that configs authenticating differently,
+ * and therefore possibly holding different Vault policies, never see each other's secrets.
+ */
+@Value
+public class SecretLocation {
+    String vaultUrl;
+    String nameSpace;
+    String authIdentity;
+    String path;
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import io.github.jopenlibs.vault.VaultException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent reads of the same {@link SecretLocation}: while one read is in flight, everyone else asking
+ * for that location waits for it and gets the same data or the same error instead of sending their own request.
+ */
+public class SingleFlight {
+    private final Map<SecretLocation, CompletableFuture<SecretData>> inFlight = new ConcurrentHashMap<>();
+
+    public SecretData read(SecretLocation location, SecretCache.Loader loader) throws VaultException {
+        CompletableFuture<SecretData> read = new CompletableFuture<>();
+        CompletableFuture<SecretData> existing = inFlight.putIfAbsent(location, read);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            SecretData data = loader.load();
+            read.complete(data);
+            return data;
+        } catch (Throwable e) {
+            read.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(location, read);
+        }
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    private static SecretData await(CompletableFuture<SecretData> read) throws VaultException {
+        try {
+            return read.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof VaultException) {
+                throw (VaultException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (RuntimeException) e.getCause();
+        }
+    }
+}
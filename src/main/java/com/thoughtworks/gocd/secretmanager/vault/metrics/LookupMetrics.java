@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per lookup phase and counters, both kept per Vault URL. All configs of the plugin report into
+ * the {@link #shared()} instance, which the exporters read. Recording only touches lock-free structures. Next to them
+ * it keeps a gauge of the KV reads in flight per Vault URL.
+ */
+public class LookupMetrics {
+    private static final LookupMetrics SHARED = new LookupMetrics();
+
+    public enum Phase {
+        /** A whole secrets lookup, from the parsed request to the serialized response. */
+        LOOKUP,
+        /** Getting the client of a config from the registry, building it when there is none. */
+        CLIENT,
+        /** Authenticating, which is cheap while a leased token is reused. */
+        AUTHENTICATE,
+        /** One read of a KV path from Vault, retries included. */
+        KV_READ
+    }
+
+    public enum Count {
+        LOOKUPS,
+        KEYS,
+        DISTINCT_PATHS,
+        MISSING_KEYS,
+        ERRORS,
+        RETRIES,
+        CACHE_HITS,
+        CACHE_MISSES
+    }
+
+    private final Map<Phase, Map<String, LatencyHistogram>> latencies = new EnumMap<>(Phase.class);
+    private final Map<Count, Map<String, LongAdder>> counts = new EnumMap<>(Count.class);
+    private final Map<String, AtomicInteger> readsInFlight = new ConcurrentHashMap<>();
+
+    public LookupMetrics() {
+        for (Phase phase : Phase.values()) {
+            latencies.put(phase, new ConcurrentHashMap<>());
+        }
+        for (Count count : Count.values()) {
+            counts.put(count, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static LookupMetrics shared() {
+        return SHARED;
+    }
+
+    public void record(Phase phase, String vaultUrl, long durationNanos) {
+        latencies.get(phase).computeIfAbsent(String.valueOf(vaultUrl), url -> new LatencyHistogram()).record(durationNanos);
+    }
+
+    public void increment(Count count, String vaultUrl) {
+        add(count, vaultUrl, 1);
+    }
+
+    public void add(Count count, String vaultUrl, long value) {
+        if (value != 0) {
+            counts.get(count).computeIfAbsent(String.valueOf(vaultUrl), url -> new LongAdder()).add(value);
+        }
+    }
+
+    public void readStarted(String vaultUrl) {
+        readsInFlight.computeIfAbsent(String.valueOf(vaultUrl), url -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public void readFinished(String vaultUrl) {
+        readsInFlight.get(String.valueOf(vaultUrl)).decrementAndGet();
+    }
+
+    public long count(Count count, String vaultUrl) {
+        LongAdder adder = counts.get(count).get(String.valueOf(vaultUrl));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Snapshots of the histograms of a phase by Vault URL.
+     */
+    public Map<String, LatencyHistogram.Snapshot> latencies(Phase phase) {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        latencies.get(phase).forEach((vaultUrl, histogram) -> snapshots.put(vaultUrl, histogram.snapshot()));
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * The values of a counter by Vault URL.
+     */
+    public Map<String, Long> counts(Count count) {
+        Map<String, Long> values = new TreeMap<>();
+        counts.get(count).forEach((vaultUrl, adder) -> values.put(vaultUrl, adder.sum()));
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * The number of KV reads waiting on each Vault right now.
+     */
+    public Map<String, Integer> readsInFlight() {
+        Map<String, Integer> values = new TreeMap<>();
+        readsInFlight.forEach((vaultUrl, reads) -> values.put(vaultUrl, reads.get()));
+        return Collections.unmodifiableMap(values);
+    }
+}
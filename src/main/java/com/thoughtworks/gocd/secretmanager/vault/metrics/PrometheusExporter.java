@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+
+/**
+ * Exports the {@link PrometheusFormat} of the plugin metrics, either over HTTP at {@code /metrics} on a port of the
+ * loopback address or by rewriting a file for the textfile collector of the node exporter at a fixed interval. Both
+ * are off unless the {@code prometheus.port} or {@code prometheus.textfile} plugin settings are given.
+ */
+public class PrometheusExporter {
+    private static final Logger LOGGER = Logger.getLoggerFor(PrometheusExporter.class);
+    private static final AtomicReference<PrometheusExporter> RUNNING = new AtomicReference<>();
+    public static final int DEFAULT_TEXTFILE_INTERVAL_SECONDS = 15;
+
+    private final PrometheusFormat format;
+    private HttpServer server;
+    private ScheduledExecutorService writer;
+
+    public PrometheusExporter(PrometheusFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Starts the exporters asked for by the plugin settings, stopping those of an earlier initialization of the plugin.
+     * Metrics are a convenience for operators, so a failure to start is only logged.
+     */
+    public static void startFromSettings(PrometheusFormat format) {
+        PrometheusExporter previous = RUNNING.getAndSet(null);
+        if (previous != null) {
+            previous.close();
+        }
+
+        int port = PluginSettings.intValue("prometheus.port", 0);
+        String textfile = PluginSettings.stringValue("prometheus.textfile", "");
+        if (port <= 0 && isBlank(textfile)) {
+            return;
+        }
+
+        PrometheusExporter exporter = new PrometheusExporter(format);
+        try {
+            if (port > 0) {
+                exporter.serve(port);
+            }
+            if (!isBlank(textfile)) {
+                exporter.writeEvery(Path.of(textfile),
+                        Duration.ofSeconds(PluginSettings.intValue("prometheus.textfileIntervalSeconds", DEFAULT_TEXTFILE_INTERVAL_SECONDS)));
+            }
+            RUNNING.set(exporter);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not start the Prometheus exporter.", e);
+            exporter.close();
+        }
+    }
+
+    /**
+     * Serves the metrics on the loopback address.
+     *
+     * @return the port bound to, which is picked by the system when {@code 0} is given
+     */
+    public synchronized int serve(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::respond);
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vault-prometheus-exporter");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    public synchronized void writeEvery(Path file, Duration interval) {
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vault-prometheus-textfile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleAtFixedRate(() -> {
+            try {
+                writeTo(file);
+            } catch (Exception e) {
+                LOGGER.warn("Could not write the Prometheus metrics to [{}].", file, e);
+            }
+        }, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the metrics next to the file and moves them over it, so that the collector never reads a partly written file.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Path written = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(written, format.render(), StandardCharsets.UTF_8);
+            try {
+                Files.move(written, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(written, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(written);
+        }
+    }
+
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+        if (writer != null) {
+            writer.shutdownNow();
+            writer = null;
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = format.render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormat.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not render the Prometheus metrics.", e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
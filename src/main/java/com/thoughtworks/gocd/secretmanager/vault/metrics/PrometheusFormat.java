@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import com.thoughtworks.gocd.secretmanager.vault.PluginRuntimeMXBean;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.TokenLeaseState;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders the {@link LookupMetrics} and the gauges of the {@link PluginRuntimeMXBean} in the Prometheus text exposition
+ * format. Latencies become histograms in seconds with fixed buckets, counters get a {@code _total} suffix, and every
+ * series is labelled with the Vault URL it belongs to.
+ */
+public class PrometheusFormat {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    static final long[] BUCKET_MICROS = {1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000};
+
+    private static final Map<Phase, String> PHASE_HELP = Map.of(
+            Phase.LOOKUP, "Time taken by whole secrets lookups.",
+            Phase.CLIENT, "Time taken to get the Vault client of a secret config, building it when there is none.",
+            Phase.AUTHENTICATE, "Time taken to authenticate with Vault, which is short while a leased token is reused.",
+            Phase.KV_READ, "Time taken by reads of a KV path from Vault, retries included.");
+    private static final Map<Count, String> COUNT_HELP = Map.of(
+            Count.LOOKUPS, "Secrets lookups handled.",
+            Count.KEYS, "Keys asked for in secrets lookups.",
+            Count.DISTINCT_PATHS, "Distinct Vault paths the keys of each lookup resolved to.",
+            Count.MISSING_KEYS, "Keys for which no secret was found.",
+            Count.ERRORS, "Secrets lookups which failed.",
+            Count.RETRIES, "Retries of Vault reads.",
+            Count.CACHE_HITS, "Path reads served from the secret cache.",
+            Count.CACHE_MISSES, "Path reads of caching secret configs which went to Vault.");
+
+    private final LookupMetrics metrics;
+    private final PluginRuntimeMXBean runtime;
+
+    public PrometheusFormat(LookupMetrics metrics, PluginRuntimeMXBean runtime) {
+        this.metrics = metrics;
+        this.runtime = runtime;
+    }
+
+    public String render() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Phase phase : Phase.values()) {
+            histogram(out, "gocd_vault_" + phase.name().toLowerCase(Locale.ROOT) + "_seconds", PHASE_HELP.get(phase), metrics.latencies(phase));
+        }
+        for (Count count : Count.values()) {
+            String name = "gocd_vault_" + count.name().toLowerCase(Locale.ROOT) + "_total";
+            header(out, name, "counter", COUNT_HELP.get(count));
+            metrics.counts(count).forEach((vaultUrl, value) -> sample(out, name, vaultUrl, value));
+        }
+
+        gauge(out, "gocd_vault_reads_in_flight", "KV reads waiting on Vault.", metrics.readsInFlight());
+        gauge(out, "gocd_vault_pool_leased_connections", "Pooled connections in use.", runtime.getLeasedConnections());
+        gauge(out, "gocd_vault_pool_idle_connections", "Pooled connections kept for reuse.", runtime.getIdleConnections());
+
+        header(out, "gocd_vault_clients", "gauge", "Vault clients held, one per distinct secret config.");
+        out.append("gocd_vault_clients ").append(runtime.getClients()).append('\n');
+        header(out, "gocd_vault_secret_cache_entries", "gauge", "Vault paths held in the secret cache.");
+        out.append("gocd_vault_secret_cache_entries ").append(runtime.getSecretCacheEntries()).append('\n');
+        header(out, "gocd_vault_negative_cache_entries", "gauge", "Missing paths and keys remembered by the negative cache.");
+        out.append("gocd_vault_negative_cache_entries ").append(runtime.getNegativeCacheEntries()).append('\n');
+
+        header(out, "gocd_vault_token_lease_remaining_seconds", "gauge", "Seconds until the token of an auth identity expires, 0 when it does not expire.");
+        for (TokenLeaseState lease : runtime.getTokenLeases()) {
+            out.append("gocd_vault_token_lease_remaining_seconds{vault=\"").append(escape(lease.getVaultUrl()))
+                    .append("\",auth_method=\"").append(escape(lease.getAuthMethod()))
+                    .append("\",identity=\"").append(escape(lease.getIdentity()))
+                    .append("\"} ").append(lease.getRemainingSeconds()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, Map<String, LatencyHistogram.Snapshot> snapshots) {
+        header(out, name, "histogram", help);
+        snapshots.forEach((vaultUrl, snapshot) -> {
+            String vault = escape(vaultUrl);
+            long count = snapshot.count();
+            for (long micros : BUCKET_MICROS) {
+                out.append(name).append("_bucket{vault=\"").append(vault).append("\",le=\"").append(seconds(micros)).append("\"} ")
+                        .append(Math.min(count, snapshot.countAtOrBelow(micros))).append('\n');
+            }
+            out.append(name).append("_bucket{vault=\"").append(vault).append("\",le=\"+Inf\"} ").append(count).append('\n');
+            out.append(name).append("_sum{vault=\"").append(vault).append("\"} ").append(seconds(snapshot.totalMicros())).append('\n');
+            out.append(name).append("_count{vault=\"").append(vault).append("\"} ").append(count).append('\n');
+        });
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, Map<String, ? extends Number> values) {
+        header(out, name, "gauge", help);
+        values.forEach((vaultUrl, value) -> sample(out, name, vaultUrl, value));
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String vaultUrl, Number value) {
+        out.append(name).append("{vault=\"").append(escape(vaultUrl)).append("\"} ").append(value).append('\n');
+    }
+
+    private static String seconds(long micros) {
+        return Double.toString(micros / 1_000_000.0);
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '"' -> escaped.append("\\\"");
+                case '\n' -> escaped.append("\\n");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
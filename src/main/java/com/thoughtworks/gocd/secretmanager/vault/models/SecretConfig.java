@@ -16,16 +16,18 @@
 
 package com.thoughtworks.gocd.secretmanager.vault.models;
 
-import cd.go.plugin.base.GsonTransformer;
 import cd.go.plugin.base.annotations.Property;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -36,19 +38,26 @@ import static java.util.Arrays.asList;
 @EqualsAndHashCode
 @NoArgsConstructor
 public class SecretConfig {
-    private static final Gson GSON = new GsonBuilder().
-            excludeFieldsWithoutExposeAnnotation().
-            create();
-
     public static final String TOKEN_AUTH_METHOD = "token";
     public static final String APPROLE_AUTH_METHOD = "approle";
     public static final String CERT_AUTH_METHOD = "cert";
 
+    public static final String POOLED_TRANSPORT = "pooled";
+    public static final String HTTP2_TRANSPORT = "http2";
+
     public static final List<String> SUPPORTED_AUTH_METHODS = asList(TOKEN_AUTH_METHOD, APPROLE_AUTH_METHOD, CERT_AUTH_METHOD);
+    public static final List<String> SUPPORTED_TRANSPORTS = asList(POOLED_TRANSPORT, HTTP2_TRANSPORT);
     public static final int DEFAULT_CONNECTION_TIMEOUT = 5;
     public static final int DEFAULT_READ_TIMEOUT = 30;
     public static final int DEFAULT_MAX_RETRIES = 0;
     public static final int DEFAULT_RETRY_INTERVAL_MS = 100;
+    public static final int DEFAULT_TOKEN_RENEWAL_PERCENTAGE = 75;
+    public static final int DEFAULT_CACHE_TTL_SECONDS = 0;
+    public static final int DEFAULT_CACHE_STALE_GRACE_SECONDS = 0;
+    public static final int DEFAULT_NEGATIVE_CACHE_TTL_SECONDS = 0;
+    public static final boolean DEFAULT_CACHE_REVALIDATION = false;
+    public static final int DEFAULT_MAX_CONCURRENT_READS = 4;
+    public static final int DEFAULT_BATCH_WINDOW_MS = 0;
 
     @Expose
     @SerializedName("VaultUrl")
@@ -85,6 +94,46 @@ public class SecretConfig {
     @Property(name = "RetryIntervalMilliseconds")
     private String retryIntervalMilliseconds;
 
+    @Expose
+    @SerializedName("MaxConcurrentReads")
+    @Property(name = "MaxConcurrentReads")
+    private String maxConcurrentReads;
+
+    @Expose
+    @SerializedName("Transport")
+    @Property(name = "Transport")
+    private String transport;
+
+    @Expose
+    @SerializedName("BatchWindowMilliseconds")
+    @Property(name = "BatchWindowMilliseconds")
+    private String batchWindowMilliseconds;
+
+    @Expose
+    @SerializedName("CacheTtlSeconds")
+    @Property(name = "CacheTtlSeconds")
+    private String cacheTtlSeconds;
+
+    @Expose
+    @SerializedName("CacheStaleGraceSeconds")
+    @Property(name = "CacheStaleGraceSeconds")
+    private String cacheStaleGraceSeconds;
+
+    @Expose
+    @SerializedName("CacheRevalidation")
+    @Property(name = "CacheRevalidation")
+    private String cacheRevalidation;
+
+    @Expose
+    @SerializedName("NegativeCacheTtlSeconds")
+    @Property(name = "NegativeCacheTtlSeconds")
+    private String negativeCacheTtlSeconds;
+
+    @Expose
+    @SerializedName("TokenRenewalPercentage")
+    @Property(name = "TokenRenewalPercentage")
+    private String tokenRenewalPercentage;
+
     @Expose
     @SerializedName("AuthMethod")
     @Property(name = "AuthMethod", required = true)
@@ -120,41 +169,151 @@ public class SecretConfig {
     @Property(name = "ServerPem", secure = true)
     private String serverPem;
 
+    @Getter(AccessLevel.NONE)
+    private transient String fingerprint;
+
+    @Getter(AccessLevel.NONE)
+    private transient String authIdentity;
+
     public Integer getConnectionTimeout() {
-        if (isBlank(connectionTimeout)) {
-            return DEFAULT_CONNECTION_TIMEOUT;
-        }
-        return Integer.valueOf(connectionTimeout);
+        return integerValue(connectionTimeout, DEFAULT_CONNECTION_TIMEOUT);
     }
 
     public Integer getReadTimeout() {
-        if (isBlank(readTimeout)) {
-            return DEFAULT_READ_TIMEOUT;
-        }
-        return Integer.valueOf(readTimeout);
+        return integerValue(readTimeout, DEFAULT_READ_TIMEOUT);
     }
 
     public Integer getMaxRetries() {
-        if (isBlank(maxRetries)) {
-            return DEFAULT_MAX_RETRIES;
-        }
-        return Integer.valueOf(maxRetries);
+        return integerValue(maxRetries, DEFAULT_MAX_RETRIES);
     }
 
     public Integer getRetryIntervalMilliseconds() {
-        if (isBlank(retryIntervalMilliseconds)) {
-            return DEFAULT_RETRY_INTERVAL_MS;
+        return integerValue(retryIntervalMilliseconds, DEFAULT_RETRY_INTERVAL_MS);
+    }
+
+    public Integer getMaxConcurrentReads() {
+        return integerValue(maxConcurrentReads, DEFAULT_MAX_CONCURRENT_READS);
+    }
+
+    public Integer getBatchWindowMilliseconds() {
+        return integerValue(batchWindowMilliseconds, DEFAULT_BATCH_WINDOW_MS);
+    }
+
+    public Integer getCacheTtlSeconds() {
+        return integerValue(cacheTtlSeconds, DEFAULT_CACHE_TTL_SECONDS);
+    }
+
+    public Integer getCacheStaleGraceSeconds() {
+        return integerValue(cacheStaleGraceSeconds, DEFAULT_CACHE_STALE_GRACE_SECONDS);
+    }
+
+    public Boolean getCacheRevalidation() {
+        if (isBlank(cacheRevalidation)) {
+            return DEFAULT_CACHE_REVALIDATION;
         }
-        return Integer.valueOf(retryIntervalMilliseconds);
+        return Boolean.valueOf(cacheRevalidation);
+    }
+
+    public Integer getNegativeCacheTtlSeconds() {
+        return integerValue(negativeCacheTtlSeconds, DEFAULT_NEGATIVE_CACHE_TTL_SECONDS);
+    }
+
+    public Integer getTokenRenewalPercentage() {
+        return integerValue(tokenRenewalPercentage, DEFAULT_TOKEN_RENEWAL_PERCENTAGE);
     }
 
     public boolean isAuthMethodSupported() {
         return SUPPORTED_AUTH_METHODS.contains(authMethod.toLowerCase());
     }
 
-    public static SecretConfig fromJSON(Map<String, String> request) {
-        String json = GsonTransformer.toJson(request);
-        return GSON.fromJson(json, SecretConfig.class);
+    /**
+     * Binds the properties of a secret config, keyed by their {@link SerializedName}, without a round trip through JSON.
+     */
+    public static SecretConfig fromJSON(Map<String, String> properties) {
+        SecretConfig secretConfig = new SecretConfig();
+        secretConfig.vaultUrl = properties.get("VaultUrl");
+        secretConfig.vaultPath = properties.get("VaultPath");
+        secretConfig.nameSpace = properties.get("NameSpace");
+        secretConfig.connectionTimeout = properties.get("ConnectionTimeout");
+        secretConfig.readTimeout = properties.get("ReadTimeout");
+        secretConfig.maxRetries = properties.get("MaxRetries");
+        secretConfig.retryIntervalMilliseconds = properties.get("RetryIntervalMilliseconds");
+        secretConfig.maxConcurrentReads = properties.get("MaxConcurrentReads");
+        secretConfig.transport = properties.get("Transport");
+        secretConfig.batchWindowMilliseconds = properties.get("BatchWindowMilliseconds");
+        secretConfig.cacheTtlSeconds = properties.get("CacheTtlSeconds");
+        secretConfig.cacheStaleGraceSeconds = properties.get("CacheStaleGraceSeconds");
+        secretConfig.cacheRevalidation = properties.get("CacheRevalidation");
+        secretConfig.negativeCacheTtlSeconds = properties.get("NegativeCacheTtlSeconds");
+        secretConfig.tokenRenewalPercentage = properties.get("TokenRenewalPercentage");
+        secretConfig.authMethod = properties.get("AuthMethod");
+        secretConfig.token = properties.get("Token");
+        secretConfig.roleId = properties.get("RoleId");
+        secretConfig.secretId = properties.get("SecretId");
+        secretConfig.clientKeyPem = properties.get("ClientKeyPem");
+        secretConfig.clientPem = properties.get("ClientPem");
+        secretConfig.serverPem = properties.get("ServerPem");
+        return secretConfig;
+    }
+
+    /**
+     * A digest of the settings a client is built from: the Vault it connects to and how, whom it authenticates as and
+     * how it reads. Cache and batching settings are left out, so changing them keeps the client and its token.
+     */
+    public String fingerprint() {
+        if (fingerprint == null) {
+            fingerprint = sha256(String.join("\n", authIdentity(), String.valueOf(connectionTimeout), String.valueOf(readTimeout),
+                    String.valueOf(maxRetries), String.valueOf(retryIntervalMilliseconds), String.valueOf(transport),
+                    String.valueOf(cacheRevalidation), String.valueOf(serverPem), String.valueOf(clientKeyPem)));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Identifies the lookups whose path reads may be batched together: those of configs sharing a client which also read
+     * with the same concurrency and cache their results alike.
+     */
+    public String batchKey() {
+        return String.join("/", fingerprint(), String.valueOf(maxConcurrentReads), String.valueOf(batchWindowMilliseconds),
+                String.valueOf(cacheTtlSeconds), String.valueOf(cacheStaleGraceSeconds), String.valueOf(negativeCacheTtlSeconds));
+    }
+
+    /**
+     * Identifies whom the plugin authenticates as and against which Vault, ignoring settings such as timeouts.
+     */
+    public String authIdentity() {
+        if (authIdentity == null) {
+            authIdentity = sha256(String.join("\n", String.valueOf(vaultUrl), String.valueOf(nameSpace), String.valueOf(authMethod),
+                    String.valueOf(token), String.valueOf(roleId), String.valueOf(secretId), String.valueOf(clientPem)));
+        }
+        return authIdentity;
+    }
+
+    /**
+     * The vault path without trailing slashes, which lookup keys are resolved against.
+     */
+    public String commonVaultPath() {
+        int end = vaultPath.length();
+        while (end > 0 && vaultPath.charAt(end - 1) == '/') {
+            end--;
+        }
+        return vaultPath.substring(0, end);
+    }
+
+    private static Integer integerValue(String value, int defaultValue) {
+        if (isBlank(value)) {
+            return defaultValue;
+        }
+        return Integer.valueOf(value);
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     public boolean isTokenAuthentication() {
@@ -35,4 +35,9 @@ public class SecretConfigRequest {
     @Expose
     @SerializedName("keys")
     private List<String> keys;
+
+    SecretConfigRequest(SecretConfig configuration, List<String> keys) {
+        this.configuration = configuration;
+        this.keys = keys;
+    }
 }
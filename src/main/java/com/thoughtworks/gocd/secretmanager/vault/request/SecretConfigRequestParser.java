@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.request;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Reads a secrets lookup request with a streaming {@link JsonReader} instead of reflective Gson. Keys are added to the
+ * request as they are read and repeated keys share one instance. The body size and the number of keys are capped on the
+ * reader, an oversized request is rejected as soon as the limit is passed, before the rest of it is read or bound.
+ */
+public class SecretConfigRequestParser {
+    private final int maxBodyChars;
+    private final int maxKeys;
+
+    public SecretConfigRequestParser() {
+        this(PluginSettings.intValue("request.maxBodyChars", 16 * 1024 * 1024), PluginSettings.intValue("request.maxKeys", 50_000));
+    }
+
+    // Used only in tests
+    SecretConfigRequestParser(int maxBodyChars, int maxKeys) {
+        this.maxBodyChars = maxBodyChars;
+        this.maxKeys = maxKeys;
+    }
+
+    public SecretConfigRequest parse(String body) {
+        if (body.length() > maxBodyChars) {
+            throw new IllegalArgumentException(tooLarge());
+        }
+        return parse(new StringReader(body));
+    }
+
+    public SecretConfigRequest parse(Reader body) {
+        try (JsonReader reader = new JsonReader(new LimitedReader(body, maxBodyChars))) {
+            SecretConfig configuration = null;
+            List<String> keys = null;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "configuration":
+                        configuration = readConfiguration(reader);
+                        break;
+                    case "keys":
+                        keys = readKeys(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return new SecretConfigRequest(configuration, keys);
+        } catch (BodyTooLargeException e) {
+            throw new IllegalArgumentException(tooLarge(), e);
+        } catch (IOException | IllegalStateException e) {
+            throw new IllegalArgumentException("Malformed lookup request: " + e.getMessage(), e);
+        }
+    }
+
+    private String tooLarge() {
+        return format("Lookup request exceeds the limit of %d characters.", maxBodyChars);
+    }
+
+    private static SecretConfig readConfiguration(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        Map<String, String> properties = new HashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            String value = readString(reader);
+            if (value != null) {
+                properties.put(name, value);
+            }
+        }
+        reader.endObject();
+        return SecretConfig.fromJSON(properties);
+    }
+
+    private List<String> readKeys(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        List<String> keys = new ArrayList<>();
+        Map<String, String> seen = new HashMap<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (keys.size() == maxKeys) {
+                throw new IllegalArgumentException(format("Lookup request has more than %d keys.", maxKeys));
+            }
+            String key = readString(reader);
+            keys.add(key == null ? null : seen.computeIfAbsent(key, k -> k));
+        }
+        reader.endArray();
+        return keys;
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                return reader.nextString();
+        }
+    }
+
+    private static class BodyTooLargeException extends IOException {
+    }
+
+    private static class LimitedReader extends FilterReader {
+        private long remaining;
+
+        LimitedReader(Reader in, int limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int c = super.read();
+            if (c != -1) {
+                consumed(1);
+            }
+            return c;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consumed(read);
+            }
+            return read;
+        }
+
+        private void consumed(int chars) throws BodyTooLargeException {
+            remaining -= chars;
+            if (remaining < 0) {
+                throw new BodyTooLargeException();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent traces in memory, where they can be read in tests or over JMX.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    public static final int DEFAULT_MAX_TRACES = 100;
+
+    private final Deque<List<SpanData>> traces = new ArrayDeque<>();
+    private final int maxTraces;
+
+    public InMemorySpanExporter(int maxTraces) {
+        this.maxTraces = maxTraces;
+    }
+
+    @Override
+    public synchronized void export(List<SpanData> trace) {
+        traces.addLast(trace);
+        while (traces.size() > maxTraces) {
+            traces.removeFirst();
+        }
+    }
+
+    /**
+     * The kept traces, oldest first.
+     */
+    public synchronized List<List<SpanData>> traces() {
+        return new ArrayList<>(traces);
+    }
+
+    /**
+     * The kept traces as lines of OTLP/JSON, oldest first.
+     */
+    public List<String> tracesAsJson() {
+        return traces().stream().map(OtlpJson::toJson).toList();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Appends each trace as a line of OTLP/JSON to a file, which the file receiver of the OpenTelemetry collector can pick up.
+ */
+public class JsonLinesSpanExporter implements SpanExporter {
+    private static final Logger LOGGER = Logger.getLoggerFor(JsonLinesSpanExporter.class);
+
+    private final Path file;
+    private final BufferedWriter writer;
+
+    public JsonLinesSpanExporter(Path file) throws IOException {
+        this.file = file;
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, CREATE, WRITE, APPEND);
+    }
+
+    @Override
+    public void export(List<SpanData> trace) {
+        String line = OtlpJson.toJson(trace);
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Could not write a trace to [{}].", file, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close the trace file [{}].", file, e);
+            }
+        }
+    }
+}
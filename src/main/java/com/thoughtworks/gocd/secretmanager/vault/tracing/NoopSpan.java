@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+final class NoopSpan implements Span {
+    static final NoopSpan INSTANCE = new NoopSpan();
+
+    private NoopSpan() {
+    }
+
+    @Override
+    public boolean isRecording() {
+        return false;
+    }
+
+    @Override
+    public Span child(String name) {
+        return this;
+    }
+
+    @Override
+    public Span attribute(String key, String value) {
+        return this;
+    }
+
+    @Override
+    public Span attribute(String key, long value) {
+        return this;
+    }
+
+    @Override
+    public Span attribute(String key, boolean value) {
+        return this;
+    }
+
+    @Override
+    public Span error(Throwable error) {
+        return this;
+    }
+
+    @Override
+    public void end() {
+    }
+}
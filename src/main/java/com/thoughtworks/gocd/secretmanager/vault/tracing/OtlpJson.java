@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a trace as one line of OTLP/JSON, the {@code ExportTraceServiceRequest} message which the OpenTelemetry
+ * collector reads from files and accepts over OTLP/HTTP.
+ */
+final class OtlpJson {
+    static final String SERVICE_NAME = "gocd-vault-secret-plugin";
+    static final String SCOPE_NAME = "com.thoughtworks.gocd.secretmanager.vault";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private OtlpJson() {
+    }
+
+    static String toJson(List<SpanData> trace) {
+        StringWriter buffer = new StringWriter(256 * trace.size());
+        try (JsonWriter json = new JsonWriter(buffer)) {
+            json.beginObject().name("resourceSpans").beginArray().beginObject();
+            json.name("resource").beginObject().name("attributes").beginArray();
+            attribute(json, "service.name", SERVICE_NAME);
+            json.endArray().endObject();
+
+            json.name("scopeSpans").beginArray().beginObject();
+            json.name("scope").beginObject().name("name").value(SCOPE_NAME).endObject();
+            json.name("spans").beginArray();
+            for (SpanData span : trace) {
+                span(json, span);
+            }
+            json.endArray().endObject().endArray();
+
+            json.endObject().endArray().endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toString();
+    }
+
+    private static void span(JsonWriter json, SpanData span) throws IOException {
+        json.beginObject();
+        json.name("traceId").value(span.getTraceId());
+        json.name("spanId").value(span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            json.name("parentSpanId").value(span.getParentSpanId());
+        }
+        json.name("name").value(span.getName());
+        json.name("kind").value(SPAN_KIND_INTERNAL);
+        json.name("startTimeUnixNano").value(Long.toString(span.getStartEpochNanos()));
+        json.name("endTimeUnixNano").value(Long.toString(span.getEndEpochNanos()));
+        json.name("attributes").beginArray();
+        for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+            attribute(json, attribute.getKey(), attribute.getValue());
+        }
+        json.endArray();
+        if (span.getError() != null) {
+            json.name("status").beginObject().name("code").value(STATUS_CODE_ERROR).name("message").value(span.getError()).endObject();
+        }
+        json.endObject();
+    }
+
+    private static void attribute(JsonWriter json, String key, Object value) throws IOException {
+        json.beginObject().name("key").value(key).name("value").beginObject();
+        if (value instanceof Long number) {
+            // OTLP/JSON carries 64 bit integers as strings
+            json.name("intValue").value(Long.toString(number));
+        } else if (value instanceof Boolean bool) {
+            json.name("boolValue").value(bool);
+        } else {
+            json.name("stringValue").value(String.valueOf(value));
+        }
+        json.endObject().endObject();
+    }
+}
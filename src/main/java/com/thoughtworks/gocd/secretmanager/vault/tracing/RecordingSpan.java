@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class RecordingSpan implements Span {
+    private final Trace trace;
+    private final String spanId = Trace.randomHex(8);
+    private final String parentSpanId;
+    private final String name;
+    private final long startEpochNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private String error;
+    private boolean ended;
+
+    RecordingSpan(Trace trace, String parentSpanId, String name) {
+        this.trace = trace;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startEpochNanos = trace.epochNanos();
+    }
+
+    @Override
+    public boolean isRecording() {
+        return true;
+    }
+
+    @Override
+    public Span child(String name) {
+        return new RecordingSpan(trace, spanId, name);
+    }
+
+    @Override
+    public synchronized Span attribute(String key, String value) {
+        attributes.put(key, String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public synchronized Span attribute(String key, long value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Override
+    public synchronized Span attribute(String key, boolean value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Override
+    public synchronized Span error(Throwable error) {
+        this.error = String.valueOf(error.getMessage());
+        return this;
+    }
+
+    @Override
+    public void end() {
+        SpanData span;
+        synchronized (this) {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            span = new SpanData(trace.traceId(), spanId, parentSpanId, name, startEpochNanos, trace.epochNanos(),
+                    Collections.unmodifiableMap(new LinkedHashMap<>(attributes)), error);
+        }
+        trace.ended(span, parentSpanId == null);
+    }
+}
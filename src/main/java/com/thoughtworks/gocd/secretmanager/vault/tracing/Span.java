@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+/**
+ * One timed step of a secrets lookup. Spans are started from their parent, which is handed along explicitly, and end
+ * once; a trace is exported when its root span ends. With tracing off every span is {@link #NOOP}, on which all calls do
+ * nothing, so callers only check {@link #isRecording()} before working out an attribute which is not at hand.
+ */
+public interface Span {
+    Span NOOP = NoopSpan.INSTANCE;
+
+    boolean isRecording();
+
+    Span child(String name);
+
+    Span attribute(String key, String value);
+
+    Span attribute(String key, long value);
+
+    Span attribute(String key, boolean value);
+
+    /**
+     * Marks the span as failed with the message of the exception.
+     */
+    Span error(Throwable error);
+
+    void end();
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * An ended span as handed to a {@link SpanExporter}. Ids are lowercase hex, times are nanoseconds since the epoch, and
+ * attribute values are strings, longs or booleans. The parent span id is {@code null} for the root of a trace and the
+ * error is {@code null} unless the span failed.
+ */
+@Value
+public class SpanData {
+    String traceId;
+    String spanId;
+    String parentSpanId;
+    String name;
+    long startEpochNanos;
+    long endEpochNanos;
+    Map<String, Object> attributes;
+    String error;
+
+    public long durationNanos() {
+        return endEpochNanos - startEpochNanos;
+    }
+}
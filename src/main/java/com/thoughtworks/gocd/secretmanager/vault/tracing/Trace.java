@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Collects the ended spans of one trace and exports them when the root span ends. Spans ending after that are dropped,
+ * such as those of a cache refresh which outlives the lookup. Span times come from one wall clock reading at the start
+ * of the trace plus the monotonic clock, so they are consistent within the trace.
+ */
+class Trace {
+    private final SpanExporter exporter;
+    private final String traceId = randomHex(16);
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final List<SpanData> spans = new ArrayList<>();
+    private boolean exported;
+
+    Trace(SpanExporter exporter) {
+        this.exporter = exporter;
+        Instant now = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    long epochNanos() {
+        return startEpochNanos + (System.nanoTime() - startNanos);
+    }
+
+    void ended(SpanData span, boolean root) {
+        List<SpanData> trace;
+        synchronized (this) {
+            if (exported) {
+                return;
+            }
+            spans.add(span);
+            if (!root) {
+                return;
+            }
+            exported = true;
+            trace = List.copyOf(spans);
+        }
+        exporter.export(trace);
+    }
+
+    static String randomHex(int bytes) {
+        byte[] id = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(id);
+        return HexFormat.of().formatHex(id);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import com.thoughtworks.go.plugin.api.logging.Logger;
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+
+/**
+ * Starts the root span of each traced secrets lookup. Tracing is off unless the {@code tracing.exporter} plugin setting is
+ * {@code jsonl}, which appends traces to the {@code tracing.file}, or {@code memory}, which keeps the last
+ * {@code tracing.maxTraces} of them. When it is off every span is {@link Span#NOOP}.
+ */
+public class Tracer {
+    private static final Logger LOGGER = Logger.getLoggerFor(Tracer.class);
+    private static final Tracer DISABLED = new Tracer(null);
+    private static final AtomicReference<SpanExporter> CONFIGURED = new AtomicReference<>();
+
+    private final SpanExporter exporter;
+
+    public Tracer(SpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    public static Tracer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * The tracer asked for by the plugin settings. The exporter of an earlier initialization of the plugin is closed,
+     * and tracing stays off when the exporter can not be set up.
+     */
+    public static Tracer fromSettings() {
+        SpanExporter exporter = null;
+        String kind = PluginSettings.stringValue("tracing.exporter", "");
+        try {
+            if ("jsonl".equalsIgnoreCase(kind)) {
+                String file = PluginSettings.stringValue("tracing.file", "");
+                if (isBlank(file)) {
+                    LOGGER.warn("Tracing to JSON lines needs the [{}tracing.file] setting, tracing stays off.", PluginSettings.PREFIX);
+                } else {
+                    exporter = new JsonLinesSpanExporter(Path.of(file));
+                }
+            } else if ("memory".equalsIgnoreCase(kind)) {
+                exporter = new InMemorySpanExporter(PluginSettings.intValue("tracing.maxTraces", InMemorySpanExporter.DEFAULT_MAX_TRACES));
+            } else if (!isBlank(kind)) {
+                LOGGER.warn("Unknown tracing exporter [{}], tracing stays off.", kind);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not set up the [{}] tracing exporter, tracing stays off.", kind, e);
+        }
+
+        SpanExporter previous = CONFIGURED.getAndSet(exporter);
+        if (previous != null) {
+            previous.close();
+        }
+        return exporter == null ? DISABLED : new Tracer(exporter);
+    }
+
+    public boolean isEnabled() {
+        return exporter != null;
+    }
+
+    public SpanExporter exporter() {
+        return exporter;
+    }
+
+    public Span startTrace(String name) {
+        if (exporter == null) {
+            return Span.NOOP;
+        }
+        return new RecordingSpan(new Trace(exporter), null, name);
+    }
+}
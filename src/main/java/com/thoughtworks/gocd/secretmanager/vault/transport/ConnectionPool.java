@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of persistent connections to one endpoint. At most {@code maxConnections} are in use at a time and
+ * callers wait for one to be released beyond that. Released connections are kept for reuse until they have been idle
+ * for longer than the idle timeout or are older than the max lifetime, the most recently released one being reused first.
+ * <p>
+ * Closing the pool retires it rather than cutting off its users: idle connections are closed straight away and leased
+ * ones once they are released, while callers still holding the pool get connections of their own which are closed
+ * after use. Reads in flight on a client which was just evicted or invalidated therefore finish normally.
+ */
+class ConnectionPool<C extends ConnectionPool.Connection> {
+    private final Deque<Idle<C>> idle = new ArrayDeque<>();
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final Duration idleTimeout;
+    private final Duration maxLifetime;
+    private final Clock clock;
+    private final Factory<C> factory;
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong reused = new AtomicLong();
+    private boolean closed;
+
+    ConnectionPool(int maxConnections, Duration idleTimeout, Duration maxLifetime, Clock clock, Factory<C> factory) {
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.idleTimeout = idleTimeout;
+        this.maxLifetime = maxLifetime;
+        this.clock = clock;
+        this.factory = factory;
+    }
+
+    Lease<C> acquire(Duration maxWait) throws IOException {
+        awaitPermit(maxWait);
+        try {
+            C connection = pollIdle();
+            if (connection != null) {
+                reused.incrementAndGet();
+                return new Lease<>(connection, true);
+            }
+            return open();
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Replaces a connection which turned out to be closed by the other end. The lease keeps its permit and still has
+     * to be released, also when opening the new connection fails.
+     */
+    Lease<C> reopen(Lease<C> stale) throws IOException {
+        stale.connection.close();
+        return open();
+    }
+
+    void release(Lease<C> lease, boolean reusable) {
+        try {
+            Instant now = clock.instant();
+            boolean pooled = false;
+            if (reusable && !isPastLifetime(lease.connection, now)) {
+                synchronized (idle) {
+                    if (!closed) {
+                        idle.push(new Idle<>(lease.connection, now));
+                        pooled = true;
+                    }
+                }
+            }
+            if (!pooled) {
+                lease.connection.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    void close() {
+        synchronized (idle) {
+            closed = true;
+            idle.forEach(entry -> entry.connection.close());
+            idle.clear();
+        }
+    }
+
+    long connectionsCreated() {
+        return created.get();
+    }
+
+    long connectionsReused() {
+        return reused.get();
+    }
+
+    int idleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    int leasedConnections() {
+        return maxConnections - permits.availablePermits();
+    }
+
+    private Lease<C> open() throws IOException {
+        C connection = factory.open();
+        created.incrementAndGet();
+        return new Lease<>(connection, false);
+    }
+
+    private C pollIdle() {
+        Instant now = clock.instant();
+        synchronized (idle) {
+            for (Idle<C> entry = idle.poll(); entry != null; entry = idle.poll()) {
+                if (now.isBefore(entry.idleSince.plus(idleTimeout)) && !isPastLifetime(entry.connection, now)) {
+                    return entry.connection;
+                }
+                entry.connection.close();
+            }
+        }
+        return null;
+    }
+
+    private boolean isPastLifetime(C connection, Instant now) {
+        return !now.isBefore(connection.openedAt().plus(maxLifetime));
+    }
+
+    private void awaitPermit(Duration maxWait) throws IOException {
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out after " + maxWait.toMillis() + "ms waiting for one of " + maxConnections + " pooled connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a pooled connection", e);
+        }
+    }
+
+    interface Connection {
+        Instant openedAt();
+
+        void close();
+    }
+
+    @FunctionalInterface
+    interface Factory<C extends Connection> {
+        C open() throws IOException;
+    }
+
+    static class Lease<C extends Connection> {
+        final C connection;
+        final boolean reused;
+
+        Lease(C connection, boolean reused) {
+            this.connection = connection;
+            this.reused = reused;
+        }
+    }
+
+    private static class Idle<C> {
+        private final C connection;
+        private final Instant idleSince;
+
+        Idle(C connection, Instant idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.rest.RestResponse;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A transport on {@link HttpClient} which prefers HTTP/2, so that concurrent reads are multiplexed as streams over a
+ * single TLS connection per Vault node instead of each needing a connection of their own. Reads are sent
+ * synchronously, the threads of the path reader are what puts several of them in flight at once. It connects with the
+ * {@link SSLContext} built from the server and client PEMs of the secret config. Vault addresses which
+ * do not offer HTTP/2 are spoken to over HTTP/1.1 with the persistent connections of the {@link HttpClient}.
+ * <p>
+ * The {@link HttpClient} runs on an executor of its own, which is shut down once the transport is closed and the
+ * requests in flight are done; on Java 21 and later the client itself is closed as well. Requests sent after that are
+ * served by a client of their own which is released right away.
+ */
+public class Http2Transport implements VaultTransport {
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final SSLContext sslContext;
+    private final Duration connectTimeout;
+    private final String address;
+    private final Duration readTimeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public Http2Transport(VaultConfig vaultConfig) throws VaultException {
+        this(vaultConfig, Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vault-http2-transport");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    // Used only in tests
+    Http2Transport(VaultConfig vaultConfig, ExecutorService executor) throws VaultException {
+        this.sslContext = vaultConfig.getAddress().regionMatches(true, 0, "https:", 0, 6)
+                ? TransportSsl.sslContextFor(vaultConfig.getSslConfig())
+                : null;
+        this.connectTimeout = vaultConfig.getOpenTimeout() != null && vaultConfig.getOpenTimeout() > 0
+                ? Duration.ofSeconds(vaultConfig.getOpenTimeout())
+                : null;
+        this.executor = executor;
+        this.httpClient = newClient(executor);
+        this.address = vaultConfig.getAddress().replaceAll("/+$", "");
+        this.readTimeout = vaultConfig.getReadTimeout() != null && vaultConfig.getReadTimeout() > 0
+                ? Duration.ofSeconds(vaultConfig.getReadTimeout())
+                : null;
+    }
+
+    @Override
+    public RestResponse get(String path, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(address + path))
+                .GET()
+                .header("Accept", "application/json");
+        headers.forEach(request::header);
+        if (readTimeout != null) {
+            request.timeout(readTimeout);
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            if (!closed) {
+                return send(httpClient, request.build(), path);
+            }
+        } finally {
+            if (inFlight.decrementAndGet() == 0 && closed) {
+                release();
+            }
+        }
+
+        HttpClient oneOff = newClient(null);
+        try {
+            return send(oneOff, request.build(), path);
+        } finally {
+            close(oneOff);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (inFlight.get() == 0) {
+            release();
+        }
+    }
+
+    private HttpClient newClient(ExecutorService executor) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NEVER);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        if (sslContext != null) {
+            builder.sslContext(sslContext);
+        }
+        if (connectTimeout != null) {
+            builder.connectTimeout(connectTimeout);
+        }
+        return builder.build();
+    }
+
+    private static RestResponse send(HttpClient httpClient, HttpRequest request, String path) throws IOException {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return new RestResponse(response.statusCode(),
+                    response.headers().firstValue("Content-Type").orElse(null),
+                    response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading " + path);
+        }
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            close(httpClient);
+            executor.shutdown();
+        }
+    }
+
+    private static void close(HttpClient httpClient) {
+        // HttpClient is AutoCloseable from Java 21 on, before that it is released once unreachable
+        if (httpClient instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                // Nothing is left in flight on the client, failing to close it only leaves it to be collected
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+/**
+ * Paths of the KV v2 secrets engine. For {@code <mount>/<path>} the data is at {@code <mount>/data/<path>} and the
+ * metadata at {@code <mount>/metadata/<path>}, the mount being the first segment as the Vault driver assumes by default.
+ */
+public final class KvPaths {
+    private KvPaths() {
+    }
+
+    public static String dataPathOf(String path) {
+        return withSegmentAfterMount(path, "data");
+    }
+
+    public static String metadataPathOf(String path) {
+        return withSegmentAfterMount(path, "metadata");
+    }
+
+    private static String withSegmentAfterMount(String path, String segment) {
+        int mountEnd = path.indexOf('/');
+        return mountEnd < 0 ? path + "/" + segment : path.substring(0, mountEnd) + "/" + segment + path.substring(mountEnd);
+    }
+}
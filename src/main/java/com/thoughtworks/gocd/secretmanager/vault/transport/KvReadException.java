@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.VaultException;
+
+/**
+ * A KV read which still failed once its retries were used up, telling how many retries were made so that they are
+ * counted like those of a read which succeeded.
+ */
+public class KvReadException extends VaultException {
+    private final int retries;
+
+    public KvReadException(String message, int httpStatusCode, int retries, Throwable cause) {
+        super(message, httpStatusCode);
+        this.retries = retries;
+        if (cause != null) {
+            initCause(cause);
+        }
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import com.thoughtworks.gocd.secretmanager.vault.PluginSettings;
+import io.github.jopenlibs.vault.SslConfig;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.rest.RestResponse;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An HTTP/1.1 transport which keeps a {@link ConnectionPool} of persistent connections to the Vault address, so that
+ * lookups stop paying for a TCP connect and a TLS handshake on every request. The TLS settings are taken from the
+ * {@link SslConfig} of the {@link VaultConfig}, and one {@link SSLSocketFactory} is used for all connections so that
+ * new connections can resume earlier TLS sessions.
+ * <p>
+ * The pool is sized with the {@code transport.pool.*} plugin settings. A request on a reused connection which the
+ * server has closed in the meantime is sent again once on a new connection.
+ */
+public class PooledHttpTransport implements VaultTransport {
+    public static final int DEFAULT_MAX_CONNECTIONS = 8;
+    public static final int DEFAULT_IDLE_TIMEOUT_SECONDS = 30;
+    public static final int DEFAULT_MAX_LIFETIME_SECONDS = 300;
+
+    private final String host;
+    private final int port;
+    private final String hostHeader;
+    private final String basePath;
+    private final SSLSocketFactory sslSocketFactory;
+    private final boolean verifyHostname;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final Clock clock;
+    private final ConnectionPool<HttpConnection> pool;
+
+    public PooledHttpTransport(VaultConfig vaultConfig) throws VaultException {
+        this(vaultConfig,
+                PluginSettings.intValue("transport.pool.maxConnections", DEFAULT_MAX_CONNECTIONS),
+                Duration.ofSeconds(PluginSettings.intValue("transport.pool.idleTimeoutSeconds", DEFAULT_IDLE_TIMEOUT_SECONDS)),
+                Duration.ofSeconds(PluginSettings.intValue("transport.pool.maxLifetimeSeconds", DEFAULT_MAX_LIFETIME_SECONDS)),
+                Clock.systemUTC());
+    }
+
+    // Used only in tests
+    PooledHttpTransport(VaultConfig vaultConfig, int maxConnections, Duration idleTimeout, Duration maxLifetime, Clock clock) throws VaultException {
+        URI address = URI.create(vaultConfig.getAddress());
+        boolean https = "https".equalsIgnoreCase(address.getScheme());
+        this.host = address.getHost();
+        this.port = address.getPort() != -1 ? address.getPort() : https ? 443 : 80;
+        this.hostHeader = address.getPort() != -1 ? host + ":" + port : host;
+        this.basePath = address.getRawPath() == null ? "" : address.getRawPath().replaceAll("/+$", "");
+        this.sslSocketFactory = https ? TransportSsl.sslContextFor(vaultConfig.getSslConfig()).getSocketFactory() : null;
+        this.verifyHostname = vaultConfig.getSslConfig() == null || vaultConfig.getSslConfig().isVerify();
+        this.connectTimeoutMillis = secondsToMillis(vaultConfig.getOpenTimeout());
+        this.readTimeoutMillis = secondsToMillis(vaultConfig.getReadTimeout());
+        this.clock = clock;
+        this.pool = new ConnectionPool<>(maxConnections, idleTimeout, maxLifetime, clock, this::connect);
+    }
+
+    @Override
+    public RestResponse get(String path, Map<String, String> headers) throws IOException {
+        ConnectionPool.Lease<HttpConnection> lease = pool.acquire(Duration.ofMillis(connectTimeoutMillis == 0 ? Long.MAX_VALUE : connectTimeoutMillis));
+        boolean reusable = false;
+        try {
+            Response response;
+            try {
+                response = exchange(lease.connection, path, headers);
+            } catch (IOException e) {
+                if (!lease.reused) {
+                    throw e;
+                }
+                lease = pool.reopen(lease);
+                response = exchange(lease.connection, path, headers);
+            }
+            reusable = response.keepAlive;
+            return response.restResponse;
+        } finally {
+            pool.release(lease, reusable);
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    public long connectionsCreated() {
+        return pool.connectionsCreated();
+    }
+
+    public long connectionsReused() {
+        return pool.connectionsReused();
+    }
+
+    public int idleConnections() {
+        return pool.idleConnections();
+    }
+
+    public int leasedConnections() {
+        return pool.leasedConnections();
+    }
+
+    private HttpConnection connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+            socket.setSoTimeout(readTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            if (sslSocketFactory != null) {
+                SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+                if (verifyHostname) {
+                    SSLParameters parameters = sslSocket.getSSLParameters();
+                    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(parameters);
+                }
+                sslSocket.startHandshake();
+                socket = sslSocket;
+            }
+            return new HttpConnection(socket, clock.instant());
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    private Response exchange(HttpConnection connection, String path, Map<String, String> headers) throws IOException {
+        StringBuilder request = new StringBuilder(256)
+                .append("GET ").append(basePath).append(path).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(hostHeader).append("\r\n")
+                .append("Accept: application/json\r\n");
+        headers.forEach((name, value) -> request.append(name).append(": ").append(value).append("\r\n"));
+        request.append("\r\n");
+        connection.out.write(request.toString().getBytes(UTF_8));
+        connection.out.flush();
+
+        String statusLine = readLine(connection.in);
+        if (statusLine == null) {
+            throw new EOFException("Connection closed before a response was received");
+        }
+        int versionEnd = statusLine.indexOf(' ');
+        int statusEnd = statusLine.indexOf(' ', versionEnd + 1);
+        boolean http11 = "HTTP/1.1".equals(statusLine.substring(0, Math.max(versionEnd, 0)));
+        int status = parseStatus(statusLine, versionEnd, statusEnd);
+
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean closeRequested = false;
+        String contentType = null;
+        for (String line = readLine(connection.in); line != null && !line.isEmpty(); line = readLine(connection.in)) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = line.substring(0, colon).trim();
+            String value = line.substring(colon + 1).trim();
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(value);
+            } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                chunked = value.toLowerCase().contains("chunked");
+            } else if ("Connection".equalsIgnoreCase(name)) {
+                closeRequested = "close".equalsIgnoreCase(value);
+            } else if ("Content-Type".equalsIgnoreCase(name)) {
+                contentType = value;
+            }
+        }
+
+        byte[] body;
+        boolean delimited = true;
+        if (status == 204 || status == 304) {
+            body = new byte[0];
+        } else if (chunked) {
+            body = readChunked(connection.in);
+        } else if (contentLength >= 0) {
+            body = readExactly(connection.in, contentLength);
+        } else {
+            body = connection.in.readAllBytes();
+            delimited = false;
+        }
+
+        return new Response(new RestResponse(status, contentType, body), http11 && delimited && !closeRequested);
+    }
+
+    private static int parseStatus(String statusLine, int versionEnd, int statusEnd) throws IOException {
+        try {
+            return Integer.parseInt(statusLine.substring(versionEnd + 1, statusEnd < 0 ? statusLine.length() : statusEnd));
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed HTTP status line: " + statusLine, e);
+        }
+    }
+
+    private static byte[] readChunked(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = readLine(in);
+            if (sizeLine == null) {
+                throw new EOFException("Connection closed in the middle of a chunked response");
+            }
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim(), 16);
+            if (size == 0) {
+                String trailer;
+                do {
+                    trailer = readLine(in);
+                } while (trailer != null && !trailer.isEmpty());
+                return body.toByteArray();
+            }
+            body.write(readExactly(in, size));
+            readLine(in);
+        }
+    }
+
+    private static byte[] readExactly(InputStream in, long length) throws IOException {
+        byte[] bytes = in.readNBytes(Math.toIntExact(length));
+        if (bytes.length != length) {
+            throw new EOFException("Connection closed after " + bytes.length + " of " + length + " bytes of the response");
+        }
+        return bytes;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != -1; b = in.read()) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    private static int secondsToMillis(Integer seconds) {
+        return seconds == null ? 0 : Math.toIntExact(seconds * 1000L);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class Response {
+        private final RestResponse restResponse;
+        private final boolean keepAlive;
+
+        Response(RestResponse restResponse, boolean keepAlive) {
+            this.restResponse = restResponse;
+            this.keepAlive = keepAlive;
+        }
+    }
+
+    private static class HttpConnection implements ConnectionPool.Connection {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        private final Instant openedAt;
+
+        HttpConnection(Socket socket, Instant openedAt) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+            this.openedAt = openedAt;
+        }
+
+        @Override
+        public Instant openedAt() {
+            return openedAt;
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(socket);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.api.Logical;
+import io.github.jopenlibs.vault.response.LogicalResponse;
+import io.github.jopenlibs.vault.rest.RestResponse;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads KV paths through a {@link VaultTransport}, with the same path rewriting, headers, retries, status handling and
+ * response parsing as {@code Logical#read(String)} of the Vault driver: 4xx responses are returned to the caller as they
+ * are, other failures are retried and then thrown. The token is taken from the {@link VaultConfig} on every read, so a
+ * refreshed token is picked up straight away.
+ */
+public class TransportKvReader implements KvReader {
+    private final VaultTransport transport;
+    private final VaultConfig vaultConfig;
+    private final boolean kvV2;
+    private final int maxRetries;
+    private final int retryIntervalMilliseconds;
+
+    public TransportKvReader(VaultTransport transport, VaultConfig vaultConfig, boolean kvV2, int maxRetries, int retryIntervalMilliseconds) {
+        this.transport = transport;
+        this.vaultConfig = vaultConfig;
+        this.kvV2 = kvV2;
+        this.maxRetries = maxRetries;
+        this.retryIntervalMilliseconds = retryIntervalMilliseconds;
+    }
+
+    @Override
+    public LogicalResponse read(String path) throws VaultException {
+        String requestPath = "/v1/" + (kvV2 ? KvPaths.dataPathOf(path) : path);
+        Logical.logicalOperations operation = kvV2 ? Logical.logicalOperations.readV2 : Logical.logicalOperations.readV1;
+
+        for (int retryCount = 0; ; retryCount++) {
+            try {
+                RestResponse response = transport.get(requestPath, headers());
+                if (response.getStatus() == 200 || (response.getStatus() >= 400 && response.getStatus() < 500)) {
+                    return new LogicalResponse(response, retryCount, operation);
+                }
+                throw new VaultException("Vault responded with HTTP status code: " + response.getStatus()
+                        + "\nResponse body: " + (response.getBody() == null ? "" : new String(response.getBody(), UTF_8)),
+                        response.getStatus());
+            } catch (IOException | VaultException e) {
+                if (retryCount >= maxRetries) {
+                    throw new KvReadException(e.getMessage(), e instanceof VaultException ? ((VaultException) e).getHttpStatusCode() : 0,
+                            retryCount, e);
+                }
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    private Map<String, String> headers() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Vault-Token", vaultConfig.getToken());
+        if (vaultConfig.getNameSpace() != null && !vaultConfig.getNameSpace().isEmpty()) {
+            headers.put("X-Vault-Namespace", vaultConfig.getNameSpace());
+        }
+        headers.put("X-Vault-Request", "true");
+        return headers;
+    }
+
+    private void sleepBeforeRetry() throws VaultException {
+        try {
+            Thread.sleep(retryIntervalMilliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new VaultException(e);
+        }
+    }
+}
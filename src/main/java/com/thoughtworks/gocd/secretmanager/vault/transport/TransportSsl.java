@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.SslConfig;
+import io.github.jopenlibs.vault.VaultException;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+
+/**
+ * The {@link SSLContext} a transport connects with, decided the same way as the Vault driver does: the context built by
+ * the {@link SslConfig} from the server and client PEMs when there is one, trusting every server when verification is
+ * turned off, and the default context of the JVM otherwise.
+ */
+final class TransportSsl {
+    private TransportSsl() {
+    }
+
+    static SSLContext sslContextFor(SslConfig sslConfig) throws VaultException {
+        try {
+            if (sslConfig != null && !sslConfig.isVerify()) {
+                SSLContext trustAll = SSLContext.getInstance("TLS");
+                trustAll.init(null, new TrustManager[]{new TrustAllManager()}, null);
+                return trustAll;
+            }
+            if (sslConfig != null && sslConfig.getSslContext() != null) {
+                return sslConfig.getSslContext();
+            }
+            return SSLContext.getDefault();
+        } catch (GeneralSecurityException e) {
+            throw new VaultException(e);
+        }
+    }
+
+    private static class TrustAllManager implements X509TrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.rest.RestResponse;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Sends HTTP requests to one Vault address in place of the per-request connections of the Vault driver.
+ */
+public interface VaultTransport {
+    /**
+     * @param path the path of the request below the Vault address, such as {@code /v1/secret/data/gocd}
+     */
+    RestResponse get(String path, Map<String, String> headers) throws IOException;
+
+    /**
+     * Releases the connections of the transport once the requests in flight are done. Requests sent afterwards by
+     * callers which still hold the transport are served without keeping their connections.
+     */
+    void close();
+}
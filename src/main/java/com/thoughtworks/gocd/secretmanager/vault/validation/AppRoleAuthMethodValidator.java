@@ -17,18 +17,13 @@
 package com.thoughtworks.gocd.secretmanager.vault.validation;
 
 import cd.go.plugin.base.validation.ValidationResult;
-import cd.go.plugin.base.validation.Validator;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
-import java.util.Map;
-
 import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
 
-public class AppRoleAuthMethodValidator implements Validator {
+public class AppRoleAuthMethodValidator extends SecretConfigValidator {
     @Override
-    public ValidationResult validate(Map<String, String> requestBody) {
-        SecretConfig secretConfig = SecretConfig.fromJSON(requestBody);
-
+    public ValidationResult validate(SecretConfig secretConfig) {
         ValidationResult result = new ValidationResult();
 
         if (secretConfig.isAppRoleAuthentication()) {
@@ -17,18 +17,14 @@
 package com.thoughtworks.gocd.secretmanager.vault.validation;
 
 import cd.go.plugin.base.validation.ValidationResult;
-import cd.go.plugin.base.validation.Validator;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 
-import java.util.Map;
-
 import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
 import static java.lang.String.format;
 
-public class AuthMethodValidator implements Validator {
+public class AuthMethodValidator extends SecretConfigValidator {
     @Override
-    public ValidationResult validate(Map<String, String> requestBody) {
-        SecretConfig secretConfig = SecretConfig.fromJSON(requestBody);
+    public ValidationResult validate(SecretConfig secretConfig) {
         ValidationResult validationResult = new ValidationResult();
 
         if (!isBlank(secretConfig.getAuthMethod()) && !secretConfig.isAuthMethodSupported()) {
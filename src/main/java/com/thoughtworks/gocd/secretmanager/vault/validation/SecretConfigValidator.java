@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.validation;
+
+import cd.go.plugin.base.validation.ValidationResult;
+import cd.go.plugin.base.validation.Validator;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+
+import java.util.Map;
+
+/**
+ * Validates a bound {@link SecretConfig}. Used on its own it binds the request body itself, registered through
+ * {@link SecretConfigValidators} the body is bound once for all validators.
+ */
+public abstract class SecretConfigValidator implements Validator {
+    @Override
+    public ValidationResult validate(Map<String, String> requestBody) {
+        return validate(SecretConfig.fromJSON(requestBody));
+    }
+
+    public abstract ValidationResult validate(SecretConfig secretConfig);
+}
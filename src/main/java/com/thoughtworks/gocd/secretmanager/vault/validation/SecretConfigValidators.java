@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.validation;
+
+import cd.go.plugin.base.validation.ValidationResult;
+import cd.go.plugin.base.validation.Validator;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binds the request body of a secret config validation once and runs every {@link SecretConfigValidator} on it.
+ */
+public class SecretConfigValidators implements Validator {
+    private final List<SecretConfigValidator> validators;
+
+    public SecretConfigValidators(SecretConfigValidator... validators) {
+        this.validators = List.of(validators);
+    }
+
+    @Override
+    public ValidationResult validate(Map<String, String> requestBody) {
+        SecretConfig secretConfig = SecretConfig.fromJSON(requestBody);
+        ValidationResult result = new ValidationResult();
+        for (SecretConfigValidator validator : validators) {
+            result.merge(validator.validate(secretConfig));
+        }
+        return result;
+    }
+}
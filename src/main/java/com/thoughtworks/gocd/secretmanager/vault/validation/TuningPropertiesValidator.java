@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.validation;
+
+import cd.go.plugin.base.validation.ValidationResult;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+
+import java.util.function.Supplier;
+
+import static com.thoughtworks.gocd.secretmanager.vault.VaultPlugin.isBlank;
+import static java.lang.String.format;
+
+/**
+ * Checks the optional properties which tune how secrets are read, cached and renewed, which otherwise only fail or
+ * misbehave once lookups use them.
+ */
+public class TuningPropertiesValidator extends SecretConfigValidator {
+    @Override
+    public ValidationResult validate(SecretConfig secretConfig) {
+        ValidationResult result = new ValidationResult();
+
+        requireNonNegative(result, "MaxConcurrentReads", secretConfig::getMaxConcurrentReads);
+        requireNonNegative(result, "BatchWindowMilliseconds", secretConfig::getBatchWindowMilliseconds);
+        requireNonNegative(result, "CacheTtlSeconds", secretConfig::getCacheTtlSeconds);
+        requireNonNegative(result, "CacheStaleGraceSeconds", secretConfig::getCacheStaleGraceSeconds);
+        requireNonNegative(result, "NegativeCacheTtlSeconds", secretConfig::getNegativeCacheTtlSeconds);
+
+        Integer renewalPercentage = integerOrNull(secretConfig::getTokenRenewalPercentage);
+        if (renewalPercentage == null || renewalPercentage < 1 || renewalPercentage > 99) {
+            result.add("TokenRenewalPercentage", "TokenRenewalPercentage must be a whole number from 1 to 99.");
+        }
+
+        if (!isBlank(secretConfig.getTransport()) && !SecretConfig.SUPPORTED_TRANSPORTS.contains(secretConfig.getTransport())) {
+            result.add("Transport", format("Invalid 'Transport', should be blank or one of [%s]", String.join(",", SecretConfig.SUPPORTED_TRANSPORTS)));
+        }
+
+        return result;
+    }
+
+    private static void requireNonNegative(ValidationResult result, String property, Supplier<Integer> value) {
+        Integer parsed = integerOrNull(value);
+        if (parsed == null || parsed < 0) {
+            result.add(property, format("%s must be a non-negative whole number.", property));
+        }
+    }
+
+    private static Integer integerOrNull(Supplier<Integer> value) {
+        try {
+            return value.get();
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
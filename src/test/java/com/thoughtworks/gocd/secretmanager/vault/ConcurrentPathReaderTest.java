@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrentPathReaderTest {
+    private final ConcurrentPathReader reader = new ConcurrentPathReader(Executors.newCachedThreadPool());
+
+    @Test
+    void shouldReturnTheDataOfEveryPathInTheOrderOfThePaths() throws VaultException {
+        Map<String, Map<String, String>> dataByPath = reader.readAll(List.of("c", "a", "b"), 2, path -> Map.of("path", path));
+
+        assertThat(dataByPath).containsExactly(
+                Map.entry("c", Map.of("path", "c")),
+                Map.entry("a", Map.of("path", "a")),
+                Map.entry("b", Map.of("path", "b")));
+    }
+
+    @Test
+    void shouldReadPathsConcurrently() throws VaultException {
+        CountDownLatch allReading = new CountDownLatch(3);
+
+        Map<String, Map<String, String>> dataByPath = reader.readAll(List.of("a", "b", "c"), 3, path -> {
+            allReading.countDown();
+            try {
+                assertThat(allReading.await(5, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return Map.of();
+        });
+
+        assertThat(dataByPath).hasSize(3);
+    }
+
+    @Test
+    void shouldNotExceedTheConcurrencyLimit() throws VaultException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        reader.readAll(List.of("a", "b", "c", "d", "e", "f", "g", "h"), 2, path -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            inFlight.decrementAndGet();
+            return Map.of();
+        });
+
+        assertThat(maxInFlight.get()).isBetween(1, 2);
+    }
+
+    @Test
+    void shouldReadOnTheCallingThreadWhenConcurrencyIsOne() throws VaultException {
+        Thread caller = Thread.currentThread();
+
+        reader.readAll(List.of("a", "b"), 1, path -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return Map.of();
+        });
+    }
+
+    @Test
+    void shouldRethrowTheFirstFailure() {
+        assertThatThrownBy(() -> reader.readAll(List.of("a", "b"), 2, path -> {
+            throw new VaultException("Vault is sealed", 503);
+        })).isInstanceOf(VaultException.class).hasMessage("Vault is sealed");
+    }
+}
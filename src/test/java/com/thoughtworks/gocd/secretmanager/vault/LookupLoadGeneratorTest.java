@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import org.junit.jupiter.api.Test;
+
+import static com.thoughtworks.gocd.secretmanager.vault.LookupLoadGenerator.Scenario.FAN_OUT;
+import static com.thoughtworks.gocd.secretmanager.vault.LookupLoadGenerator.Scenario.MIXED_AUTH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LookupLoadGeneratorTest {
+    @Test
+    void shouldReplayEveryJobOfEveryBurst() throws Exception {
+        LookupLoadGenerator.Settings settings = LookupLoadGenerator.Settings.parse("jobs=4", "bursts=3", "keysPerJob=2", "vaultLatencyMs=0");
+
+        LookupLoadGenerator.Report report = LookupLoadGenerator.run(FAN_OUT, settings);
+
+        assertThat(report.lookups()).isEqualTo(12);
+        assertThat(report.errors()).isZero();
+        assertThat(report.percentileMillis(50)).isPositive();
+        assertThat(report.percentileMillis(99.9)).isGreaterThanOrEqualTo(report.percentileMillis(50));
+        // concurrent reads of the same path are shared, so a burst reads the path at least once and at most once per job
+        assertThat(report.vaultRequests().get("GET /v1/secret/data/gocd/pipeline-0")).isBetween(3, 12);
+    }
+
+    @Test
+    void shouldReuseTokensOfEveryAuthMethodAcrossBursts() throws Exception {
+        LookupLoadGenerator.Settings settings = LookupLoadGenerator.Settings.parse("jobs=6", "bursts=2", "pipelines=3", "vaultLatencyMs=0");
+
+        LookupLoadGenerator.Report report = LookupLoadGenerator.run(MIXED_AUTH, settings);
+
+        assertThat(report.errors()).isZero();
+        assertThat(report.vaultRequests().keySet()).noneMatch(request -> request.contains("/login"));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathKeyTest {
+    private static final String COMMON_PATH = "secret/gocd";
+
+    @Nested
+    class from {
+        @ParameterizedTest
+        @CsvSource({
+                "key1,          secret/gocd,       key1",
+                "/key1,         secret/gocd,       /key1",
+                ":key1,         secret/gocd,       key1",
+                "/:key1,        secret/gocd,       key1",
+                "a:key1,        secret/gocd/a,     key1",
+                "/a/b/c:key1,   secret/gocd/a/b/c, key1",
+                "a:b:c,         secret/gocd,       a:b:c",
+                "a:key1:,       secret/gocd/a,     key1",
+                "a:,            secret/gocd,       a:",
+        })
+        void shouldResolveKeysAgainstTheCommonPath(String optionalPathKey, String path, String key) {
+            PathKey resolved = PathKey.from(COMMON_PATH, optionalPathKey);
+
+            assertThat(resolved.path).isEqualTo(path);
+            assertThat(resolved.key).isEqualTo(key);
+        }
+
+        @Test
+        void shouldMapEquivalentSpellingsOfAPathToOnePath() {
+            PathKey.Resolver resolver = new PathKey.Resolver(COMMON_PATH);
+
+            PathKey first = resolver.resolve("/a/b:key");
+            assertThat(resolver.resolve("a/b:key").path).isSameAs(first.path);
+            assertThat(resolver.resolve("a/b/:key").path).isSameAs(first.path);
+            assertThat(resolver.resolve("//a//b//:key").path).isSameAs(first.path);
+            assertThat(first.path).isEqualTo("secret/gocd/a/b");
+        }
+
+        @Test
+        void shouldResolveEveryShortKeyLikeTheRegexBasedParser() {
+            for (String optionalPathKey : allStrings("a/:", 7)) {
+                assertEquivalent(optionalPathKey);
+            }
+        }
+
+        @Test
+        void shouldResolveRandomKeysLikeTheRegexBasedParser() {
+            Random random = new Random(42);
+            String alphabet = "ab/:_-. é";
+            for (int i = 0; i < 20_000; i++) {
+                char[] chars = new char[random.nextInt(24)];
+                for (int c = 0; c < chars.length; c++) {
+                    chars[c] = alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+                assertEquivalent(new String(chars));
+            }
+        }
+
+        private void assertEquivalent(String optionalPathKey) {
+            PathKey expected = legacyFrom(COMMON_PATH, optionalPathKey);
+            PathKey actual = PathKey.from(COMMON_PATH, optionalPathKey);
+
+            assertThat(actual.path).as("path of [%s]", optionalPathKey).isEqualTo(canonical(expected.path));
+            assertThat(actual.key).as("key of [%s]", optionalPathKey).isEqualTo(expected.key);
+        }
+    }
+
+    @Nested
+    class canonicalPath {
+        @ParameterizedTest
+        @CsvSource({
+                "a,           a",
+                "/a/,         a",
+                "//a//b///c/, a/b/c",
+                "///,         ''",
+        })
+        void shouldTrimAndCollapseSlashes(String value, String expected) {
+            assertThat(PathKey.canonicalPath(value, 0, value.length())).isEqualTo(expected);
+        }
+    }
+
+    /**
+     * The parser {@link PathKey} replaced, kept as the reference its results are checked against.
+     */
+    private static PathKey legacyFrom(String commonVaultPath, String optionalPathKey) {
+        PathKey defaultPathKey = new PathKey(commonVaultPath.replaceFirst("/+$", ""), optionalPathKey);
+        String[] parts = optionalPathKey.split(":");
+
+        if (parts.length == 2) {
+            String subPath = parts[0].replaceFirst("^/+", "");
+            return subPath.isEmpty()
+                    ? new PathKey(defaultPathKey.path, parts[1])
+                    : new PathKey(defaultPathKey.path + "/" + subPath, parts[1]);
+        }
+
+        return defaultPathKey;
+    }
+
+    /**
+     * Extra paths which only differ in repeated or trailing slashes are the same path.
+     */
+    private static String canonical(String path) {
+        if (path.equals(COMMON_PATH)) {
+            return path;
+        }
+        String canonicalSubPath = collapse(path.substring(COMMON_PATH.length() + 1));
+        return canonicalSubPath.isEmpty() ? COMMON_PATH : COMMON_PATH + "/" + canonicalSubPath;
+    }
+
+    private static String collapse(String subPath) {
+        return subPath.replaceAll("/+", "/").replaceAll("^/|/$", "");
+    }
+
+    private static List<String> allStrings(String alphabet, int maxLength) {
+        List<String> strings = new ArrayList<>();
+        strings.add("");
+        for (int start = 0, length = 1; length <= maxLength; length++) {
+            int end = strings.size();
+            for (int i = start; i < end; i++) {
+                for (char c : alphabet.toCharArray()) {
+                    strings.add(strings.get(i) + c);
+                }
+            }
+            start = end;
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.LeasedTokenAuthenticator;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticatorFactory;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretData;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretLocation;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.InMemorySpanExporter;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
+import com.thoughtworks.gocd.secretmanager.vault.transport.PooledHttpTransport;
+import io.github.jopenlibs.vault.Vault;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PluginRuntimeTest {
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private VaultClientRegistry vaultClientRegistry;
+    private VaultAuthenticatorFactory vaultAuthenticatorFactory;
+    private SecretCache secretCache;
+    private NegativeCache negativeCache;
+    private LookupMetrics metrics;
+    private PluginRuntime runtime;
+
+    @BeforeEach
+    void setUp() {
+        vaultClientRegistry = mock(VaultClientRegistry.class);
+        vaultAuthenticatorFactory = mock(VaultAuthenticatorFactory.class);
+        secretCache = new SecretCache();
+        negativeCache = new NegativeCache();
+        metrics = new LookupMetrics();
+        runtime = new PluginRuntime(vaultClientRegistry, vaultAuthenticatorFactory, secretCache, negativeCache, metrics, Tracer.disabled());
+    }
+
+    @Test
+    void shouldBeReadableAndOperableOverJmx() throws Exception {
+        MBeanServer mBeanServer = MBeanServerFactory.newMBeanServer();
+        cache("https://vault", "secret/gocd");
+
+        runtime.register(mBeanServer);
+        runtime.register(mBeanServer);
+
+        ObjectName name = new ObjectName(PluginRuntime.OBJECT_NAME);
+        assertThat(mBeanServer.getAttribute(name, "SecretCacheEntries")).isEqualTo(1);
+        assertThat(mBeanServer.invoke(name, "flushCache", new Object[]{"https://vault"}, new String[]{String.class.getName()})).isEqualTo(1);
+        assertThat(mBeanServer.getAttribute(name, "SecretCacheEntries")).isEqualTo(0);
+    }
+
+    @Test
+    void shouldComputeTheCacheHitRatioOfEachVault() {
+        metrics.add(Count.CACHE_HITS, "https://vault-1", 3);
+        metrics.increment(Count.CACHE_MISSES, "https://vault-1");
+        metrics.increment(Count.CACHE_MISSES, "https://vault-2");
+
+        assertThat(runtime.getCacheHitRatios()).isEqualTo(Map.of("https://vault-1", 0.75, "https://vault-2", 0.0));
+    }
+
+    @Test
+    void shouldFlushTheCachedSecretsAndMissesOfOneVault() throws VaultException {
+        cache("https://vault-1", "secret/gocd");
+        cache("https://vault-2", "secret/gocd");
+        negativeCache.pathMissing(location("https://vault-1", "secret/unknown"), TTL);
+
+        assertThat(runtime.flushCache("https://vault-1/")).isEqualTo(2);
+
+        assertThat(secretCache.size()).isEqualTo(1);
+        assertThat(negativeCache.size()).isZero();
+    }
+
+    @Test
+    void shouldFlushOnePathOfAVault() throws VaultException {
+        cache("https://vault", "secret/gocd");
+        cache("https://vault", "secret/other");
+
+        assertThat(runtime.flushCachedPath("https://vault", "/secret/gocd/")).isEqualTo(1);
+
+        assertThat(secretCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefreshTheTokensOfEveryLeasedTokenAuthenticator() {
+        LeasedTokenAuthenticator appRole = mock(LeasedTokenAuthenticator.class);
+        LeasedTokenAuthenticator cert = mock(LeasedTokenAuthenticator.class);
+        when(vaultAuthenticatorFactory.leasedTokenAuthenticators()).thenReturn(List.of(appRole, cert));
+        when(appRole.refresh("https://vault")).thenReturn(2);
+        when(cert.refresh("https://vault")).thenReturn(1);
+
+        assertThat(runtime.refreshTokens("https://vault")).isEqualTo(3);
+        verify(cert).refresh("https://vault");
+    }
+
+    @Test
+    void shouldAddUpThePooledConnectionsOfTheClientsOfEachVault() {
+        when(vaultClientRegistry.clients()).thenReturn(List.of(
+                pooledClient("https://vault-1", 2, 1),
+                pooledClient("https://vault-1", 1, 3),
+                pooledClient("https://vault-2", 0, 4),
+                new VaultClient(mock(Vault.class), vaultConfig("https://vault-3"))));
+
+        assertThat(runtime.getLeasedConnections()).isEqualTo(Map.of("https://vault-1", 3, "https://vault-2", 0));
+        assertThat(runtime.getIdleConnections()).isEqualTo(Map.of("https://vault-1", 4, "https://vault-2", 4));
+    }
+
+    @Test
+    void shouldListTheTracesKeptInMemory() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        Tracer tracer = new Tracer(exporter);
+        tracer.startTrace("secrets.lookup").end();
+
+        PluginRuntime tracingRuntime = new PluginRuntime(vaultClientRegistry, vaultAuthenticatorFactory, secretCache, negativeCache, metrics, tracer);
+
+        assertThat(tracingRuntime.getRecentTraces()).singleElement().asString().contains("\"name\":\"secrets.lookup\"");
+        assertThat(runtime.getRecentTraces()).isEmpty();
+    }
+
+    private void cache(String vaultUrl, String path) throws VaultException {
+        secretCache.get(location(vaultUrl, path), TTL, Duration.ZERO, () -> new SecretData(Map.of("key", "value"), null));
+    }
+
+    private static SecretLocation location(String vaultUrl, String path) {
+        return new SecretLocation(vaultUrl, null, "identity", path);
+    }
+
+    private static VaultClient pooledClient(String vaultUrl, int leased, int idle) {
+        PooledHttpTransport transport = mock(PooledHttpTransport.class);
+        when(transport.leasedConnections()).thenReturn(leased);
+        when(transport.idleConnections()).thenReturn(idle);
+        return new VaultClient(mock(Vault.class), vaultConfig(vaultUrl), path -> null, null, null, transport);
+    }
+
+    private static VaultConfig vaultConfig(String vaultUrl) {
+        VaultConfig vaultConfig = mock(VaultConfig.class);
+        when(vaultConfig.getAddress()).thenReturn(vaultUrl);
+        return vaultConfig;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadBatcherTest {
+    private static final Duration WINDOW = Duration.ofMillis(20);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<List<String>> reads = new CopyOnWriteArrayList<>();
+    private final CountDownLatch windowOpened = new CountDownLatch(1);
+    private final CountDownLatch closeWindow = new CountDownLatch(1);
+    private final ReadBatcher batcher = new ReadBatcher(window -> {
+        windowOpened.countDown();
+        closeWindow.await(5, TimeUnit.SECONDS);
+    });
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReadStraightAwayWhenThereIsNoWindow() throws VaultException {
+        ReadBatcher batcher = new ReadBatcher(window -> {
+            throw new AssertionError("Should not wait");
+        });
+
+        Map<String, Map<String, String>> dataByPath = batcher.readAll("config", List.of("a", "b"), Duration.ZERO, this::read);
+
+        assertThat(dataByPath).containsOnlyKeys("a", "b");
+        assertThat(reads).containsExactly(List.of("a", "b"));
+    }
+
+    @Test
+    void shouldReadThePathsOfLookupsArrivingWithinTheWindowOnce() throws Exception {
+        Future<Map<String, Map<String, String>>> first = executor.submit(() -> batcher.readAll("config", List.of("a", "b"), WINDOW, this::read));
+        assertThat(windowOpened.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Map<String, Map<String, String>>> second = executor.submit(() -> batcher.readAll("config", List.of("b", "c"), WINDOW, this::read));
+        Thread.sleep(50);
+        closeWindow.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsExactly(
+                Map.entry("a", Map.of("path", "a")),
+                Map.entry("b", Map.of("path", "b")));
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsExactly(
+                Map.entry("b", Map.of("path", "b")),
+                Map.entry("c", Map.of("path", "c")));
+        assertThat(reads).containsExactly(List.of("a", "b", "c"));
+    }
+
+    @Test
+    void shouldFailEveryLookupOfTheBatchWhenTheReadFails() throws Exception {
+        ReadBatcher.BatchReader failingReader = paths -> {
+            throw new VaultException("Vault is sealed", 503);
+        };
+
+        Future<Map<String, Map<String, String>>> first = executor.submit(() -> batcher.readAll("config", List.of("a"), WINDOW, failingReader));
+        assertThat(windowOpened.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Map<String, Map<String, String>>> second = executor.submit(() -> batcher.readAll("config", List.of("b"), WINDOW, failingReader));
+        Thread.sleep(50);
+        closeWindow.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Vault is sealed");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Vault is sealed");
+    }
+
+    @Test
+    void shouldFailEveryLookupOfTheBatchWhenTheReadFailsWithAnError() throws Exception {
+        ReadBatcher.BatchReader failingReader = paths -> {
+            throw new LinkageError("Could not load the reader");
+        };
+
+        Future<Map<String, Map<String, String>>> first = executor.submit(() -> batcher.readAll("config", List.of("a"), WINDOW, failingReader));
+        assertThat(windowOpened.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Map<String, Map<String, String>>> second = executor.submit(() -> batcher.readAll("config", List.of("b"), WINDOW, failingReader));
+        Thread.sleep(50);
+        closeWindow.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+    }
+
+    @Test
+    void shouldNotMergeLookupsWithDifferentBatchKeys() throws Exception {
+        ReadBatcher batcher = new ReadBatcher(window -> Thread.sleep(window.toMillis()));
+
+        Future<Map<String, Map<String, String>>> first = executor.submit(() -> batcher.readAll("one", List.of("a"), WINDOW, this::read));
+        Future<Map<String, Map<String, String>>> second = executor.submit(() -> batcher.readAll("two", List.of("a"), WINDOW, this::read));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).containsOnlyKeys("a");
+        assertThat(second.get(5, TimeUnit.SECONDS)).containsOnlyKeys("a");
+        assertThat(reads).containsExactly(List.of("a"), List.of("a"));
+    }
+
+    @Test
+    void shouldOpenANewBatchOnceThePreviousOneHasBeenRead() throws VaultException {
+        ReadBatcher batcher = new ReadBatcher(window -> {
+        });
+
+        batcher.readAll("config", List.of("a"), WINDOW, this::read);
+        batcher.readAll("config", List.of("a"), WINDOW, this::read);
+
+        assertThat(reads).containsExactly(List.of("a"), List.of("a"));
+    }
+
+    private Map<String, Map<String, String>> read(List<String> paths) {
+        reads.add(new ArrayList<>(paths));
+        return paths.stream().collect(toMap(path -> path, path -> Map.of("path", path)));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static cd.go.plugin.base.GsonTransformer.toJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
+
+/**
+ * Lookups over real HTTP and TLS against the {@link VaultEmulator}, through the Vault driver and the plugin transports.
+ */
+class SecretConfigLookupExecutorIntegrationTest {
+    private static final String EXPECTED_RESPONSE = "[{\"key\": \"key1\", \"value\": \"secret1\"}, {\"key\": \"a:key2\", \"value\": \"secret2\"}]";
+
+    private VaultEmulator vault;
+
+    @AfterEach
+    void tearDown() {
+        if (vault != null) {
+            vault.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", SecretConfig.POOLED_TRANSPORT, SecretConfig.HTTP2_TRANSPORT})
+    void shouldLookUpSecretsWithATokenThroughEveryTransport(String transport) throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start());
+        Map<String, String> configuration = tokenConfiguration(transport);
+
+        GoPluginApiResponse response = lookup(new SecretConfigLookupExecutor(), configuration);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+    }
+
+    @Test
+    void shouldLogInWithAppRoleOnceForRepeatedLookups() throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start()).addAppRole("role-id", "secret-id");
+        Map<String, String> configuration = configuration("approle");
+        configuration.put("RoleId", "role-id");
+        configuration.put("SecretId", "secret-id");
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor();
+        lookup(executor, configuration);
+        GoPluginApiResponse response = lookup(executor, configuration);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+        assertThat(vault.requestCount("POST", "/v1/auth/approle/login")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheAppRoleTokenWhenAReadFails() throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start()).addAppRole("role-id", "secret-id");
+        Map<String, String> configuration = configuration("approle");
+        configuration.put("RoleId", "role-id");
+        configuration.put("SecretId", "secret-id");
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor();
+        lookup(executor, configuration);
+        vault.failNext(1, 503);
+        GoPluginApiResponse failed = lookup(executor, configuration);
+        GoPluginApiResponse response = lookup(executor, configuration);
+
+        assertThat(failed.responseCode()).isEqualTo(500);
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+        assertThat(vault.requestCount("POST", "/v1/auth/approle/login")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLogInWithTheClientCertificateOverTls() throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.startWithTls());
+        Map<String, String> configuration = configuration("cert");
+        configuration.put("ServerPem", VaultEmulator.serverPem());
+        configuration.put("ClientPem", VaultEmulator.clientPem());
+        configuration.put("ClientKeyPem", VaultEmulator.clientKeyPem());
+
+        GoPluginApiResponse response = lookup(new SecretConfigLookupExecutor(), configuration);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+        assertThat(vault.requestCount("POST", "/v1/auth/cert/login")).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", SecretConfig.POOLED_TRANSPORT, SecretConfig.HTTP2_TRANSPORT})
+    void shouldRetryReadsWhichVaultIsUnavailableFor(String transport) throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start()).failNext(1, 503);
+        Map<String, String> configuration = tokenConfiguration(transport);
+        configuration.put("MaxRetries", "2");
+        configuration.put("RetryIntervalMilliseconds", "10");
+
+        GoPluginApiResponse response = lookup(new SecretConfigLookupExecutor(), configuration);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+        assertThat(vault.totalRequests()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @MethodSource("transportsAndFailures")
+    void shouldAnswerTheLookupAlikeThroughEveryTransportWhenVaultKeepsFailing(String transport, int status) throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start()).failureRate(1.0, status);
+        Map<String, String> configuration = tokenConfiguration(transport);
+        configuration.put("MaxRetries", "2");
+        configuration.put("RetryIntervalMilliseconds", "10");
+
+        GoPluginApiResponse response = lookup(new SecretConfigLookupExecutor(), configuration);
+
+        if (status == 403) {
+            assertThat(response.responseCode()).isEqualTo(200);
+            assertEquals("[]", response.responseBody(), true);
+        } else {
+            assertThat(response.responseCode()).isEqualTo(500);
+        }
+        assertThat(vault.requestCount("GET", "/v1/secret/data/gocd")).isEqualTo(status == 503 ? 3 : 1);
+    }
+
+    static Stream<Arguments> transportsAndFailures() {
+        return Stream.of("", SecretConfig.POOLED_TRANSPORT, SecretConfig.HTTP2_TRANSPORT)
+                .flatMap(transport -> Stream.of(403, 429, 503).map(status -> Arguments.of(transport, status)));
+    }
+
+    @Test
+    void shouldServeCachedSecretsWithoutReadingVaultAgain() throws Exception {
+        vault = emulatorWithSecrets(VaultEmulator.start());
+        Map<String, String> configuration = tokenConfiguration(SecretConfig.POOLED_TRANSPORT);
+        configuration.put("CacheTtlSeconds", "60");
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor(new VaultProvider(), new SecretCache(), new NegativeCache());
+        lookup(executor, configuration);
+        GoPluginApiResponse response = lookup(executor, configuration);
+
+        assertEquals(EXPECTED_RESPONSE, response.responseBody(), true);
+        assertThat(vault.requestCount("GET", "/v1/secret/data/gocd")).isEqualTo(1);
+        assertThat(vault.requestCount("GET", "/v1/secret/data/gocd/a")).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"keys\": [\"key1\"", "[\"key1\"]", "not json"})
+    void shouldAnswerALookupRequestItCannotReadWithAnErrorResponse(String body) throws Exception {
+        DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("secrets", "1.0", "go.cd.secrets.secrets-lookup");
+        request.setRequestBody(body);
+
+        GoPluginApiResponse response = new SecretConfigLookupExecutor().execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(500);
+        assertThat(response.responseBody()).contains("Failed to read the secrets lookup request: Malformed lookup request");
+    }
+
+    private static VaultEmulator emulatorWithSecrets(VaultEmulator vault) {
+        return vault
+                .putSecret("secret/gocd", Map.of("key1", "secret1"))
+                .putSecret("secret/gocd/a", Map.of("key2", "secret2"));
+    }
+
+    private Map<String, String> tokenConfiguration(String transport) {
+        Map<String, String> configuration = configuration("token");
+        configuration.put("Token", VaultEmulator.ROOT_TOKEN);
+        configuration.put("Transport", transport);
+        return configuration;
+    }
+
+    private Map<String, String> configuration(String authMethod) {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put("VaultUrl", vault.url());
+        configuration.put("VaultPath", "secret/gocd");
+        configuration.put("AuthMethod", authMethod);
+        return configuration;
+    }
+
+    private static GoPluginApiResponse lookup(SecretConfigLookupExecutor executor, Map<String, String> configuration) throws Exception {
+        DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("secrets", "1.0", "go.cd.secrets.secrets-lookup");
+        request.setRequestBody(toJson(Map.of("configuration", configuration, "keys", List.of("key1", "a:key2"))));
+        return executor.execute(request);
+    }
+}
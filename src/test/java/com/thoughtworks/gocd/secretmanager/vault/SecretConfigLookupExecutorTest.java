@@ -17,11 +17,24 @@
 package com.thoughtworks.gocd.secretmanager.vault;
 
 import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+import com.thoughtworks.gocd.secretmanager.vault.cache.NegativeCache;
+import com.thoughtworks.gocd.secretmanager.vault.cache.SecretCache;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
 import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequest;
+import com.thoughtworks.gocd.secretmanager.vault.request.SecretConfigRequestParser;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.InMemorySpanExporter;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.SpanData;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
+import com.thoughtworks.gocd.secretmanager.vault.transport.KvReadException;
 import io.github.jopenlibs.vault.VaultException;
 import io.github.jopenlibs.vault.api.Logical;
+import io.github.jopenlibs.vault.response.LogicalResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -33,6 +46,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.skyscreamer.jsonassert.JSONAssert.assertEquals;
@@ -49,24 +63,26 @@ class SecretConfigLookupExecutorTest {
 
     @BeforeEach
     void setUp() throws VaultException {
-        when(request.getConfiguration().getVaultPath()).thenReturn(VAULT_ROOT);
-        when(vaultProvider.vaultFor(any()).logical()).thenReturn(logical);
+        when(request.getConfiguration().commonVaultPath()).thenReturn(VAULT_ROOT);
+        when(vaultProvider.clientFor(any(), any()).secretReader()).thenReturn(logical::read);
     }
 
-    @Test
-    void shouldReturnLookupResponse() throws Exception {
-        when(logical.read(VAULT_ROOT).getData()).thenReturn(Map.of(
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void shouldReturnLookupResponse(int maxConcurrentReads) throws Exception {
+        when(request.getConfiguration().getMaxConcurrentReads()).thenReturn(maxConcurrentReads);
+        givenSecretsAt(VAULT_ROOT, Map.of(
                 "key1", "secret1",
                 "key2", "secret2",
                 "a:b:c", "secret3",
                 "a:b:c/a:b:c", "secret4"));
-        when(logical.read(VAULT_ROOT + "/a").getData()).thenReturn(Map.of(
+        givenSecretsAt(VAULT_ROOT + "/a", Map.of(
                 "key1", "secret1@a",
                 "key2", "secret2@a"));
-        when(logical.read(VAULT_ROOT + "/a/b/c").getData()).thenReturn(Map.of(
+        givenSecretsAt(VAULT_ROOT + "/a/b/c", Map.of(
                 "key1", "secret1@a/b/c",
                 "key2", "secret2@a/b/c"));
-        when(logical.read(VAULT_ROOT + "/a:b:c").getData()).thenReturn(Map.of(
+        givenSecretsAt(VAULT_ROOT + "/a:b:c", Map.of(
                 "a:b:c", "secret1@a:b:c"));
 
         Map<String, String> requestToExpectedResult = new LinkedHashMap<>() {{
@@ -107,6 +123,252 @@ class SecretConfigLookupExecutorTest {
         verifyNoMoreInteractions(logical);
     }
 
+    @Test
+    void shouldServeCachedSecretsAcrossLookupsWhenCachingIsEnabled() throws Exception {
+        when(request.getConfiguration().getCacheTtlSeconds()).thenReturn(60);
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache());
+        executor.execute(request);
+        final GoPluginApiResponse response = executor.execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[{\"key\": \"key1\", \"value\": \"secret1\"}]", response.responseBody(), true);
+        verify(logical, times(2)).read(VAULT_ROOT);
+    }
+
+    @Test
+    void shouldRememberMissingPathsAndKeysWhenNegativeCachingIsEnabled() throws Exception {
+        when(request.getConfiguration().getNegativeCacheTtlSeconds()).thenReturn(60);
+        when(request.getKeys()).thenReturn(List.of("missing:key1", "key2"));
+        when(logical.read(VAULT_ROOT + "/missing").getRestResponse().getStatus()).thenReturn(404);
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache());
+        executor.execute(request);
+        final GoPluginApiResponse response = executor.execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[]", response.responseBody(), true);
+        verify(logical, times(2)).read(VAULT_ROOT + "/missing");
+        verify(logical, times(2)).read(VAULT_ROOT);
+    }
+
+    @Test
+    void shouldCheckTheVersionOfCachedSecretsInTheKvMetadataOfTheirPath() throws Exception {
+        SecretCache secretCache = mock(SecretCache.class);
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        when(vaultProvider.clientFor(any(), any()).metadataReader().read("secret/metadata/gocd").getData())
+                .thenReturn(Map.of("current_version", "7"));
+        when(secretCache.get(any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            SecretCache.VersionCheck versionCheck = invocation.getArgument(4);
+            assertThat(versionCheck.currentVersion()).isEqualTo(7L);
+            return Map.of("key1", "secret1");
+        });
+
+        final GoPluginApiResponse response = new SecretConfigLookupExecutor(vaultProvider, secretCache, new NegativeCache())
+                .execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[{\"key\": \"key1\", \"value\": \"secret1\"}]", response.responseBody(), true);
+    }
+
+    @Test
+    void shouldReadEquivalentSpellingsOfAPathOnce() throws Exception {
+        when(request.getKeys()).thenReturn(List.of("/a:key1", "a:key2", "a/:key1", "a//:key2"));
+        givenSecretsAt(VAULT_ROOT + "/a", Map.of("key1", "secret1", "key2", "secret2"));
+
+        final GoPluginApiResponse response = new SecretConfigLookupExecutor(vaultProvider)
+                .execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[{\"key\": \"/a:key1\", \"value\": \"secret1\"}, {\"key\": \"a:key2\", \"value\": \"secret2\"}," +
+                " {\"key\": \"a/:key1\", \"value\": \"secret1\"}, {\"key\": \"a//:key2\", \"value\": \"secret2\"}]", response.responseBody(), true);
+        verify(logical, times(2)).read(VAULT_ROOT + "/a");
+        verifyNoMoreInteractions(logical);
+    }
+
+    @Test
+    void shouldCountKeysPathsMissesAndReadsOfEachLookup() throws Exception {
+        LookupMetrics metrics = new LookupMetrics();
+        when(request.getConfiguration().getVaultUrl()).thenReturn("https://vault.example.com");
+        when(request.getConfiguration().getCacheTtlSeconds()).thenReturn(60);
+        when(request.getKeys()).thenReturn(List.of("key1", "key2", "a:key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+        givenSecretsAt(VAULT_ROOT + "/a", Map.of("key1", "secret1@a"));
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache(),
+                new SecretConfigRequestParser(), metrics);
+        executor.execute(request);
+        executor.execute(request);
+
+        String vaultUrl = "https://vault.example.com";
+        assertThat(metrics.count(Count.LOOKUPS, vaultUrl)).isEqualTo(2);
+        assertThat(metrics.count(Count.KEYS, vaultUrl)).isEqualTo(6);
+        assertThat(metrics.count(Count.DISTINCT_PATHS, vaultUrl)).isEqualTo(4);
+        assertThat(metrics.count(Count.MISSING_KEYS, vaultUrl)).isEqualTo(2);
+        assertThat(metrics.count(Count.CACHE_MISSES, vaultUrl)).isEqualTo(2);
+        assertThat(metrics.count(Count.CACHE_HITS, vaultUrl)).isEqualTo(2);
+        assertThat(metrics.count(Count.ERRORS, vaultUrl)).isZero();
+        assertThat(metrics.latencies(Phase.KV_READ).get(vaultUrl).count()).isEqualTo(2);
+        assertThat(metrics.latencies(Phase.LOOKUP).get(vaultUrl).count()).isEqualTo(2);
+        assertThat(metrics.readsInFlight()).containsEntry(vaultUrl, 0);
+    }
+
+    @Test
+    void shouldNotCountCacheHitsOrMissesWhenCachingIsOff() throws Exception {
+        LookupMetrics metrics = new LookupMetrics();
+        when(request.getConfiguration().getVaultUrl()).thenReturn("https://vault.example.com");
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+
+        new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache(), new SecretConfigRequestParser(), metrics)
+                .execute(request);
+
+        assertThat(metrics.count(Count.CACHE_MISSES, "https://vault.example.com")).isZero();
+        assertThat(metrics.count(Count.CACHE_HITS, "https://vault.example.com")).isZero();
+        assertThat(metrics.count(Count.LOOKUPS, "https://vault.example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountTheRetriesOfReadsWhichFailed() throws Exception {
+        LookupMetrics metrics = new LookupMetrics();
+        when(request.getConfiguration().getVaultUrl()).thenReturn("https://vault.example.com");
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        when(logical.read(VAULT_ROOT)).thenThrow(new KvReadException("Vault is sealed", 503, 2, null));
+
+        new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache(), new SecretConfigRequestParser(), metrics)
+                .execute(request);
+
+        assertThat(metrics.count(Count.RETRIES, "https://vault.example.com")).isEqualTo(2);
+        assertThat(metrics.count(Count.ERRORS, "https://vault.example.com")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTraceEachLookupWithItsPathReadsAndSerialization() throws Exception {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        when(request.getConfiguration().getVaultUrl()).thenReturn("https://vault.example.com");
+        when(request.getKeys()).thenReturn(List.of("key1", "key2", "a:key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+        givenSecretsAt(VAULT_ROOT + "/a", Map.of("key1", "secret1@a"));
+
+        new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache(), new SecretConfigRequestParser(),
+                new LookupMetrics(), new Tracer(exporter)).execute(request);
+
+        List<SpanData> trace = exporter.traces().get(0);
+        SpanData lookup = trace.get(trace.size() - 1);
+        assertThat(lookup.getName()).isEqualTo("secrets.lookup");
+        assertThat(lookup.getAttributes())
+                .containsEntry("vault.url", "https://vault.example.com")
+                .containsEntry("keys", 3L)
+                .containsEntry("paths", 2L)
+                .containsEntry("keys.missing", 1L);
+        assertThat(trace).extracting(SpanData::getName)
+                .containsExactlyInAnyOrder("vault.read", "path.read", "vault.read", "path.read", "response.serialize", "secrets.lookup");
+        assertThat(trace).filteredOn(span -> span.getName().equals("path.read"))
+                .extracting(span -> span.getAttributes().get("vault.path"), span -> span.getAttributes().get("cache"))
+                .containsExactlyInAnyOrder(tuple(VAULT_ROOT, "off"), tuple(VAULT_ROOT + "/a", "off"));
+        assertThat(trace).allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(lookup.getTraceId()));
+    }
+
+    @Test
+    void shouldNotTraceWhenTracingIsOff() throws VaultException {
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret1"));
+
+        new SecretConfigLookupExecutor(vaultProvider).execute(request);
+
+        verify(vaultProvider, never()).clientFor(any(), argThat(span -> span != null && span.isRecording()));
+    }
+
+    @Test
+    void shouldNotCacheAReadWhichVaultRefused() throws Exception {
+        when(request.getConfiguration().getCacheTtlSeconds()).thenReturn(60);
+        when(request.getConfiguration().getCacheStaleGraceSeconds()).thenReturn(60);
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        LogicalResponse denied = mock(LogicalResponse.class, RETURNS_DEEP_STUBS);
+        when(denied.getRestResponse().getStatus()).thenReturn(403);
+        LogicalResponse allowed = mock(LogicalResponse.class, RETURNS_DEEP_STUBS);
+        when(allowed.getRestResponse().getStatus()).thenReturn(200);
+        when(allowed.getData()).thenReturn(Map.of("key1", "secret1"));
+        when(logical.read(VAULT_ROOT)).thenReturn(denied, allowed);
+
+        SecretConfigLookupExecutor executor = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), new NegativeCache());
+        final GoPluginApiResponse refused = executor.execute(request);
+        final GoPluginApiResponse response = executor.execute(request);
+
+        assertEquals("[]", refused.responseBody(), true);
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[{\"key\": \"key1\", \"value\": \"secret1\"}]", response.responseBody(), true);
+    }
+
+    @Test
+    void shouldRefreshStaleSecretsWithTheClientOfTheConfigInATraceOfTheirOwn() throws Exception {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        SecretCache secretCache = mock(SecretCache.class);
+        List<SecretCache.BackgroundRefresh> backgroundRefreshes = new ArrayList<>();
+        when(request.getKeys()).thenReturn(List.of("key1"));
+        givenSecretsAt(VAULT_ROOT, Map.of("key1", "secret2"));
+        when(secretCache.get(any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            backgroundRefreshes.add(invocation.getArgument(5));
+            return Map.of("key1", "secret1");
+        });
+
+        new SecretConfigLookupExecutor(vaultProvider, secretCache, new NegativeCache(), new SecretConfigRequestParser(),
+                new LookupMetrics(), new Tracer(exporter)).execute(request);
+        List<Map<String, String>> refreshed = new ArrayList<>();
+        backgroundRefreshes.get(0).run((loader, versionCheck) -> refreshed.add(loader.load().getData()));
+
+        assertThat(refreshed).containsExactly(Map.of("key1", "secret2"));
+        verify(vaultProvider, times(2)).clientFor(any(), argThat(span -> span != null && span.isRecording()));
+        assertThat(exporter.traces()).hasSize(2);
+        List<SpanData> refresh = exporter.traces().get(1);
+        assertThat(refresh).extracting(SpanData::getName).containsExactly("vault.read", "secrets.refresh");
+        assertThat(refresh.get(refresh.size() - 1).getAttributes()).containsEntry("vault.path", VAULT_ROOT);
+    }
+
+    @Test
+    void shouldKeepTheClientAndItsTokenWhenAReadFails() throws Exception {
+        when(logical.read(VAULT_ROOT)).thenThrow(new VaultException("Vault is sealed", 503));
+        when(request.getKeys()).thenReturn(List.of("key1"));
+
+        final GoPluginApiResponse response = new SecretConfigLookupExecutor(vaultProvider)
+                .execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(500);
+        verify(vaultProvider, never()).invalidate(any());
+    }
+
+    @Test
+    void shouldLeaveOutThePathsVaultDeniesAndKeepTheClientAndItsToken() throws Exception {
+        when(logical.read(VAULT_ROOT)).thenThrow(new VaultException("permission denied", 403));
+        givenSecretsAt(VAULT_ROOT + "/a", Map.of("key2", "secret2"));
+        when(request.getConfiguration().getNegativeCacheTtlSeconds()).thenReturn(60);
+        when(request.getKeys()).thenReturn(List.of("key1", "a:key2"));
+        NegativeCache negativeCache = new NegativeCache();
+
+        final GoPluginApiResponse response = new SecretConfigLookupExecutor(vaultProvider, new SecretCache(), negativeCache)
+                .execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(200);
+        assertEquals("[{\"key\": \"a:key2\", \"value\": \"secret2\"}]", response.responseBody(), true);
+        assertThat(negativeCache.size()).isZero();
+        verify(vaultProvider, never()).invalidate(any());
+    }
+
+    @Test
+    void shouldDropTheClientAndItsTokenWhenAuthenticatingFails() throws Exception {
+        when(vaultProvider.clientFor(any(), any())).thenThrow(new VaultException("permission denied", 403));
+        when(request.getKeys()).thenReturn(List.of("key1"));
+
+        final GoPluginApiResponse response = new SecretConfigLookupExecutor(vaultProvider)
+                .execute(request);
+
+        assertThat(response.responseCode()).isEqualTo(500);
+        verify(vaultProvider).invalidate(request.getConfiguration());
+    }
+
     @Test
     void shouldErrorForInvalidPath() throws VaultException {
         when(logical.read(VAULT_ROOT + "/notExists")).thenThrow(VaultException.class);
@@ -117,4 +379,10 @@ class SecretConfigLookupExecutorTest {
 
         assertThat(response.responseCode()).isEqualTo(500);
     }
-}
\ No newline at end of file
+
+    private void givenSecretsAt(String path, Map<String, String> secrets) throws VaultException {
+        LogicalResponse response = logical.read(path);
+        when(response.getRestResponse().getStatus()).thenReturn(200);
+        when(response.getData()).thenReturn(secrets);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.Secret;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static cd.go.plugin.base.GsonTransformer.toJson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecretsResponseWriterTest {
+    @Nested
+    class finish {
+        @Test
+        void shouldWriteAnEmptyArrayWhenThereAreNoSecrets() {
+            assertThat(SecretsResponseWriter.start(0).finish()).isEqualTo(toJson(List.of()));
+        }
+
+        @Test
+        void shouldWriteTheSameJsonAsSerializingTheSecrets() {
+            List<Secret> secrets = List.of(
+                    new Secret("plain", "value"),
+                    new Secret("html<&>='", "quotes \" and \\ backslashes"),
+                    new Secret("pem", "-----BEGIN CERTIFICATE-----\nMIIBé \u0001\n-----END CERTIFICATE-----\n")
+            );
+
+            SecretsResponseWriter writer = SecretsResponseWriter.start(SecretsResponseWriter.expectedLength(3, 100));
+            secrets.forEach(secret -> writer.secret(secret.getKey(), secret.getValue()));
+
+            assertThat(writer.finish()).isEqualTo(toJson(secrets));
+        }
+
+        @Test
+        void shouldStartEachResponseFromAnEmptyBuffer() {
+            SecretsResponseWriter.start(16).secret("first", "one").finish();
+
+            String second = SecretsResponseWriter.start(16).secret("second", "two").finish();
+
+            assertThat(second).isEqualTo("[{\"key\":\"second\",\"value\":\"two\"}]");
+        }
+    }
+}
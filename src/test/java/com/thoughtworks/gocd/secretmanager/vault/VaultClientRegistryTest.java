@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.transport.VaultTransport;
+import io.github.jopenlibs.vault.Vault;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class VaultClientRegistryTest {
+    private Clock clock;
+    private VaultClientRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        registry = new VaultClientRegistry(2, Duration.ofMinutes(10), clock);
+    }
+
+    @Test
+    void shouldReturnTheSameClientForConfigsWithTheSameFingerprint() throws VaultException {
+        VaultClient first = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+        VaultClient second = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+
+        assertThat(second).isSameAs(first);
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCreateANewClientWhenTheConfigChanges() throws VaultException {
+        VaultClient first = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+        VaultClient second = registry.clientFor(secretConfig("https://vault-2"), config -> client());
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictClientsWhichWereIdleForLongerThanTheIdleTimeout() throws VaultException {
+        VaultClient first = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+        VaultClient second = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedClientWhenFull() throws VaultException {
+        registry.clientFor(secretConfig("https://vault-1"), config -> client());
+        when(clock.millis()).thenReturn(1L);
+        VaultClient second = registry.clientFor(secretConfig("https://vault-2"), config -> client());
+        when(clock.millis()).thenReturn(2L);
+        VaultClient third = registry.clientFor(secretConfig("https://vault-3"), config -> client());
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.clientFor(secretConfig("https://vault-2"), config -> client())).isSameAs(second);
+        assertThat(registry.clientFor(secretConfig("https://vault-3"), config -> client())).isSameAs(third);
+    }
+
+    @Test
+    void shouldNotCacheAFailedClientCreation() throws VaultException {
+        assertThatThrownBy(() -> registry.clientFor(secretConfig("https://vault-1"), config -> {
+            throw new VaultException("boom");
+        })).isInstanceOf(VaultException.class);
+
+        VaultClient client = client();
+        assertThat(registry.clientFor(secretConfig("https://vault-1"), config -> client)).isSameAs(client);
+    }
+
+    @Test
+    void shouldDropTheClientOnInvalidate() throws VaultException {
+        registry.clientFor(secretConfig("https://vault-1"), config -> client());
+
+        registry.invalidate(secretConfig("https://vault-1"));
+
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void shouldListTheClientsItHolds() throws VaultException {
+        VaultClient first = registry.clientFor(secretConfig("https://vault-1"), config -> client());
+        VaultClient second = registry.clientFor(secretConfig("https://vault-2"), config -> client());
+
+        assertThat(registry.clients()).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    void shouldCloseTheTransportOfEvictedClients() throws VaultException {
+        VaultTransport transport = mock(VaultTransport.class);
+        registry.clientFor(secretConfig("https://vault-1"),
+                config -> new VaultClient(mock(Vault.class), mock(VaultConfig.class), path -> null, null, null, transport));
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+        registry.clientFor(secretConfig("https://vault-2"), config -> client());
+
+        verify(transport).close();
+    }
+
+    @Test
+    void shouldTellTheListenerOnceNoClientIsLeftForTheAuthIdentityOfAnEvictedOne() throws VaultException {
+        List<SecretConfig> evicted = new ArrayList<>();
+        registry = new VaultClientRegistry(2, Duration.ofMinutes(10), clock, evicted::add);
+        SecretConfig rotated = secretConfig("https://vault-1");
+        registry.clientFor(rotated, config -> client());
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(11).toMillis());
+        registry.clientFor(SecretConfig.fromJSON(Map.of("VaultUrl", "https://vault-1", "AuthMethod", "token", "Token", "rotated-token")),
+                config -> client());
+
+        assertThat(evicted).containsExactly(rotated);
+    }
+
+    @Test
+    void shouldNotTellTheListenerWhileAnotherClientHasTheSameAuthIdentity() throws VaultException {
+        List<SecretConfig> evicted = new ArrayList<>();
+        registry = new VaultClientRegistry(1, Duration.ofMinutes(10), clock, evicted::add);
+        registry.clientFor(secretConfig("https://vault-1"), config -> client());
+
+        when(clock.millis()).thenReturn(1L);
+        registry.clientFor(SecretConfig.fromJSON(Map.of("VaultUrl", "https://vault-1", "AuthMethod", "token", "Token", "some-token",
+                "ReadTimeout", "60")), config -> client());
+
+        assertThat(registry.size()).isEqualTo(1);
+        assertThat(evicted).isEmpty();
+    }
+
+    private VaultClient client() {
+        return new VaultClient(mock(Vault.class), mock(VaultConfig.class));
+    }
+
+    private SecretConfig secretConfig(String vaultUrl) {
+        return SecretConfig.fromJSON(Map.of("VaultUrl", vaultUrl, "AuthMethod", "token", "Token", "some-token"));
+    }
+}
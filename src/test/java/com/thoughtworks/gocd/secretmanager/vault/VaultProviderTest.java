@@ -23,7 +23,13 @@ import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticato
 import com.thoughtworks.gocd.secretmanager.vault.authenticator.VaultAuthenticatorFactory;
 import com.thoughtworks.gocd.secretmanager.vault.builders.VaultConfigBuilder;
 import com.thoughtworks.gocd.secretmanager.vault.builders.VaultConfigBuilderFactory;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.InMemorySpanExporter;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Span;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.SpanData;
+import com.thoughtworks.gocd.secretmanager.vault.tracing.Tracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -31,6 +37,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
@@ -46,7 +54,7 @@ class VaultProviderTest {
 
     @BeforeEach
     void setUp() {
-        vaultProvider = new VaultProvider(vaultConfigBuilderFactory, vaultAuthenticatorFactory);
+        vaultProvider = new VaultProvider(vaultConfigBuilderFactory, vaultAuthenticatorFactory, new VaultClientRegistry());
     }
 
     @Nested
@@ -59,6 +67,7 @@ class VaultProviderTest {
             VaultConfig vaultConfig = mock(VaultConfig.class);
             ArgumentCaptor<Vault> vaultCaptor = ArgumentCaptor.forClass(Vault.class);
 
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
             when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
             when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
             when(configBuilder.configFrom(secretConfig)).thenReturn(vaultConfig);
@@ -70,6 +79,136 @@ class VaultProviderTest {
             verify(vaultConfig).token("token");
             assertThat(vault).isEqualTo(captorValue);
         }
+
+        @Test
+        void shouldRecordTheTimeTakenToGetTheClientAndToAuthenticatePerVaultUrl() throws VaultException {
+            LookupMetrics metrics = new LookupMetrics();
+            VaultProvider vaultProvider = new VaultProvider(vaultConfigBuilderFactory, vaultAuthenticatorFactory, new VaultClientRegistry(), metrics);
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+            VaultAuthenticator vaultAuthenticator = mock(VaultAuthenticator.class);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(secretConfig.getVaultUrl()).thenReturn("https://vault.example.com");
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
+            when(configBuilder.configFrom(secretConfig)).thenReturn(mock(VaultConfig.class));
+            when(vaultAuthenticator.authenticate(any(), eq(secretConfig))).thenReturn("token");
+
+            vaultProvider.vaultFor(secretConfig);
+            vaultProvider.vaultFor(secretConfig);
+
+            assertThat(metrics.latencies(Phase.CLIENT).get("https://vault.example.com").count()).isEqualTo(2);
+            assertThat(metrics.latencies(Phase.AUTHENTICATE).get("https://vault.example.com").count()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldReuseTheVaultForAnUnchangedSecretConfig() throws VaultException {
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+            VaultAuthenticator vaultAuthenticator = mock(VaultAuthenticator.class);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
+            when(configBuilder.configFrom(secretConfig)).thenReturn(mock(VaultConfig.class));
+            when(vaultAuthenticator.authenticate(any(), eq(secretConfig))).thenReturn("token");
+
+            Vault first = vaultProvider.vaultFor(secretConfig);
+            Vault second = vaultProvider.vaultFor(secretConfig);
+
+            assertThat(second).isSameAs(first);
+            verify(configBuilder, times(1)).configFrom(secretConfig);
+            verify(vaultAuthenticator, times(2)).authenticate(first, secretConfig);
+        }
+
+        @Test
+        void shouldBuildANewVaultAndDropTheTokenOnceTheSecretConfigIsInvalidated() throws VaultException {
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+            VaultAuthenticator vaultAuthenticator = mock(VaultAuthenticator.class);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
+            when(configBuilder.configFrom(secretConfig)).thenReturn(mock(VaultConfig.class));
+
+            Vault first = vaultProvider.vaultFor(secretConfig);
+            vaultProvider.invalidate(secretConfig);
+            Vault second = vaultProvider.vaultFor(secretConfig);
+
+            assertThat(second).isNotSameAs(first);
+            verify(configBuilder, times(2)).configFrom(secretConfig);
+            verify(vaultAuthenticator).invalidate(secretConfig);
+        }
+    }
+
+    @Nested
+    class clientFor {
+        @Test
+        void shouldAlsoAuthenticateTheMetadataVaultWhenCachedSecretsAreRevalidated() throws VaultException {
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+            VaultAuthenticator vaultAuthenticator = mock(VaultAuthenticator.class);
+            VaultConfig vaultConfig = mock(VaultConfig.class);
+            VaultConfig metadataConfig = mock(VaultConfig.class);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(secretConfig.getCacheRevalidation()).thenReturn(true);
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
+            when(configBuilder.configFrom(secretConfig)).thenReturn(vaultConfig);
+            when(configBuilder.kvMetadataConfigFrom(secretConfig)).thenReturn(metadataConfig);
+            when(vaultAuthenticator.authenticate(any(), eq(secretConfig))).thenReturn("token");
+
+            VaultClient client = vaultProvider.clientFor(secretConfig);
+
+            assertThat(client.metadataReader()).isNotNull();
+            verify(vaultConfig).token("token");
+            verify(metadataConfig).token("token");
+        }
+
+        @Test
+        void shouldTraceGettingTheClientAndAuthenticatingAsChildrenOfTheGivenSpan() throws VaultException {
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+            VaultAuthenticator vaultAuthenticator = mock(VaultAuthenticator.class);
+            InMemorySpanExporter exporter = new InMemorySpanExporter(1);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(secretConfig.getAuthMethod()).thenReturn("approle");
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(vaultAuthenticator);
+            when(configBuilder.configFrom(secretConfig)).thenReturn(mock(VaultConfig.class));
+            when(vaultAuthenticator.authenticate(any(), eq(secretConfig))).thenReturn("token");
+
+            Span lookup = new Tracer(exporter).startTrace("secrets.lookup");
+            vaultProvider.clientFor(secretConfig, lookup);
+            lookup.end();
+
+            List<SpanData> trace = exporter.traces().get(0);
+            assertThat(trace).extracting(SpanData::getName).containsExactly("config.build", "client.acquire", "authenticate", "secrets.lookup");
+            assertThat(trace.get(1).getAttributes()).containsEntry("client.built", true);
+            assertThat(trace.get(2).getAttributes()).containsEntry("auth.method", "approle").containsEntry("token.reused", false);
+            assertThat(trace.get(0).getParentSpanId()).isEqualTo(trace.get(1).getSpanId());
+            assertThat(trace.get(2).getParentSpanId()).isEqualTo(trace.get(3).getSpanId());
+        }
+
+        @Test
+        void shouldNotBuildAMetadataVaultByDefault() throws VaultException {
+            SecretConfig secretConfig = mock(SecretConfig.class);
+            VaultConfigBuilder configBuilder = mock(VaultConfigBuilder.class);
+
+            when(secretConfig.fingerprint()).thenReturn("fingerprint");
+            when(vaultConfigBuilderFactory.builderFor(secretConfig)).thenReturn(configBuilder);
+            when(vaultAuthenticatorFactory.authenticatorFor(secretConfig)).thenReturn(mock(VaultAuthenticator.class));
+            when(configBuilder.configFrom(secretConfig)).thenReturn(mock(VaultConfig.class));
+
+            VaultClient client = vaultProvider.clientFor(secretConfig);
+
+            assertThat(client.metadataReader()).isNull();
+            verify(configBuilder, never()).kvMetadataConfigFrom(secretConfig);
+        }
     }
 
 }
\ No newline at end of file
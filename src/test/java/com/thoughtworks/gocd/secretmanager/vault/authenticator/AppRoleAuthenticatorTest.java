@@ -20,32 +20,51 @@ import io.github.jopenlibs.vault.Vault;
 import io.github.jopenlibs.vault.VaultException;
 import io.github.jopenlibs.vault.api.Auth;
 import io.github.jopenlibs.vault.response.AuthResponse;
+import com.thoughtworks.gocd.secretmanager.vault.VaultClientRegistry;
 import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class AppRoleAuthenticatorTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private Vault vault;
+    private Auth auth;
+    private Clock clock;
+    private SecretConfig secretConfig;
+    private AppRoleAuthenticator authenticator;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> secretConfigMap = new HashMap<>();
+        secretConfigMap.put("AuthMethod", "approle");
+        secretConfigMap.put("RoleId", "some_role_id");
+        secretConfigMap.put("SecretId", "some_secret_id");
+        secretConfig = SecretConfig.fromJSON(secretConfigMap);
+        vault = mock(Vault.class);
+        auth = mock(Auth.class);
+        clock = mock(Clock.class);
+
+        when(vault.auth()).thenReturn(auth);
+        when(clock.instant()).thenReturn(NOW);
+        authenticator = new AppRoleAuthenticator(Runnable::run, clock);
+    }
+
     @Nested
     class authenticate {
         @Test
         void shouldAuthenticateWithVault() throws VaultException {
-            Map<String, String> secretConfigMap = new HashMap<>();
-            secretConfigMap.put("AuthMethod", "approle");
-            secretConfigMap.put("RoleId", "some_role_id");
-            secretConfigMap.put("SecretId", "some_secret_id");
-            SecretConfig secretConfig = SecretConfig.fromJSON(secretConfigMap);
-            Vault vault = mock(Vault.class);
-            Auth auth = mock(Auth.class);
             AuthResponse authResponse = mock(AuthResponse.class);
 
-            when(vault.auth()).thenReturn(auth);
             when(auth.loginByAppRole(secretConfig.getRoleId(), secretConfig.getSecretId())).thenReturn(authResponse);
             when(authResponse.getAuthClientToken()).thenReturn("auth_token");
 
@@ -53,5 +72,192 @@ class AppRoleAuthenticatorTest {
 
             assertThat(token).isEqualTo("auth_token");
         }
+
+        @Test
+        void shouldReuseTheTokenWhileItsLeaseIsFresh() throws VaultException {
+            AuthResponse login = authResponse("auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(login);
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+            when(clock.instant()).thenReturn(NOW.plusSeconds(74));
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+
+            verify(auth, times(1)).loginByAppRole("some_role_id", "some_secret_id");
+            verify(auth, never()).renewSelf();
+        }
+
+        @Test
+        void shouldRenewTheTokenOnceTheRenewalPercentageOfItsLeaseIsUsedUp() throws VaultException {
+            AuthResponse login = authResponse("auth_token", 100, true);
+            AuthResponse renewal = authResponse("auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(login);
+            when(auth.renewSelf()).thenReturn(renewal);
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(75));
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+            when(clock.instant()).thenReturn(NOW.plusSeconds(140));
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+
+            verify(auth, times(1)).renewSelf();
+            verify(auth, times(1)).loginByAppRole("some_role_id", "some_secret_id");
+        }
+
+        @Test
+        void shouldLoginAgainWhenTheTokenIsNotRenewable() throws VaultException {
+            AuthResponse firstLogin = authResponse("auth_token", 100, false);
+            AuthResponse secondLogin = authResponse("new_auth_token", 100, false);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(firstLogin, secondLogin);
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(80));
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("new_auth_token");
+
+            verify(auth, never()).renewSelf();
+        }
+
+        @Test
+        void shouldLoginAgainWhenRenewalFails() throws VaultException {
+            AuthResponse firstLogin = authResponse("auth_token", 100, true);
+            AuthResponse secondLogin = authResponse("new_auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(firstLogin, secondLogin);
+            when(auth.renewSelf()).thenThrow(new VaultException("permission denied", 403));
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(80));
+            authenticator.authenticate(vault, secretConfig);
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("new_auth_token");
+        }
+
+        @Test
+        void shouldLoginInTheForegroundOnceTheTokenHasExpired() throws VaultException {
+            AuthResponse firstLogin = authResponse("auth_token", 100, true);
+            AuthResponse secondLogin = authResponse("new_auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(firstLogin, secondLogin);
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(100));
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("new_auth_token");
+            verify(auth, never()).renewSelf();
+        }
+
+        @Test
+        void shouldLoginAgainAfterInvalidate() throws VaultException {
+            AuthResponse firstLogin = authResponse("auth_token", 100, true);
+            AuthResponse secondLogin = authResponse("new_auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(firstLogin, secondLogin);
+
+            authenticator.authenticate(vault, secretConfig);
+            authenticator.invalidate(secretConfig);
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("new_auth_token");
+        }
+    }
+
+    @Nested
+    class leases {
+        @Test
+        void shouldDescribeTheLeaseOfEachIdentityWithoutTheToken() throws VaultException {
+            AuthResponse login = authResponse("auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(login);
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(40));
+
+            assertThat(authenticator.leases()).containsExactly(new TokenLeaseState(
+                    LeasedTokenAuthenticator.labelOf(secretConfig.authIdentity()), null, "approle",
+                    "2026-01-01T00:00:00Z", "2026-01-01T00:01:40Z", 100, 60, true, false, false));
+        }
+
+        @Test
+        void shouldDropTheTokenOfAnIdentityNotUsedForTheIdleTimeout() throws VaultException {
+            SecretConfig rotatedConfig = SecretConfig.fromJSON(Map.of("AuthMethod", "approle", "RoleId", "some_role_id",
+                    "SecretId", "rotated_secret_id"));
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(authResponse("auth_token", 7200, true));
+            when(auth.loginByAppRole("some_role_id", "rotated_secret_id")).thenReturn(authResponse("rotated_token", 7200, true));
+            authenticator.authenticate(vault, secretConfig);
+
+            when(clock.instant()).thenReturn(NOW.plus(VaultClientRegistry.DEFAULT_IDLE_TIMEOUT).plusSeconds(1));
+            authenticator.authenticate(vault, rotatedConfig);
+
+            assertThat(authenticator.leases()).extracting(TokenLeaseState::getIdentity)
+                    .containsExactly(LeasedTokenAuthenticator.labelOf(rotatedConfig.authIdentity()));
+        }
+
+        @Test
+        void shouldDropTheTokenOfAnInvalidatedIdentity() throws VaultException {
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(authResponse("auth_token", 100, true));
+            authenticator.authenticate(vault, secretConfig);
+
+            authenticator.invalidate(secretConfig);
+
+            assertThat(authenticator.leases()).isEmpty();
+        }
+
+        @Test
+        void shouldLabelIdentitiesWithoutGivingAwayTheirDigest() {
+            String label = LeasedTokenAuthenticator.labelOf(secretConfig.authIdentity());
+
+            assertThat(label).hasSize(16).isEqualTo(LeasedTokenAuthenticator.labelOf(secretConfig.authIdentity()));
+            assertThat(secretConfig.authIdentity()).doesNotContain(label);
+            assertThat(LeasedTokenAuthenticator.labelOf("other-identity")).isNotEqualTo(label);
+        }
+
+        @Test
+        void shouldHaveNoLeasesBeforeLoggingIn() {
+            assertThat(authenticator.leases()).isEmpty();
+        }
+    }
+
+    @Nested
+    class refresh {
+        @Test
+        void shouldRenewTheTokenRightAway() throws VaultException {
+            AuthResponse login = authResponse("auth_token", 100, true);
+            AuthResponse renewal = authResponse("auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(login);
+            when(auth.renewSelf()).thenReturn(renewal);
+            authenticator.authenticate(vault, secretConfig);
+
+            assertThat(authenticator.refresh(null)).isEqualTo(1);
+
+            verify(auth, times(1)).renewSelf();
+            verify(auth, times(1)).loginByAppRole("some_role_id", "some_secret_id");
+        }
+
+        @Test
+        void shouldLoginAgainWhenTheTokenCanNotBeRenewed() throws VaultException {
+            AuthResponse firstLogin = authResponse("auth_token", 100, true);
+            AuthResponse secondLogin = authResponse("new_auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(firstLogin, secondLogin);
+            when(auth.renewSelf()).thenThrow(new VaultException("permission denied", 403));
+            authenticator.authenticate(vault, secretConfig);
+
+            authenticator.refresh("");
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("new_auth_token");
+        }
+
+        @Test
+        void shouldLeaveTheTokensOfOtherVaultsAlone() throws VaultException {
+            AuthResponse login = authResponse("auth_token", 100, true);
+            when(auth.loginByAppRole("some_role_id", "some_secret_id")).thenReturn(login);
+            authenticator.authenticate(vault, secretConfig);
+
+            assertThat(authenticator.refresh("https://other-vault")).isZero();
+
+            verify(auth, never()).renewSelf();
+        }
+    }
+
+    private AuthResponse authResponse(String token, long leaseDuration, boolean renewable) {
+        AuthResponse authResponse = mock(AuthResponse.class);
+        when(authResponse.getAuthClientToken()).thenReturn(token);
+        when(authResponse.getAuthLeaseDuration()).thenReturn(leaseDuration);
+        when(authResponse.isAuthRenewable()).thenReturn(renewable);
+        return authResponse;
     }
-}
\ No newline at end of file
+}
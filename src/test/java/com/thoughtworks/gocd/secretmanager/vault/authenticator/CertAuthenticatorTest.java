@@ -24,6 +24,8 @@ import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -31,6 +33,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 class CertAuthenticatorTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String CLIENT_PEM = "-----BEGIN CERTIFICATE-----\nMIIBszCCAVmgAwIBAgIU\nAbCdEf==\n-----END CERTIFICATE-----\n";
+
     @Nested
     class authenticate {
         @Test
@@ -50,5 +55,76 @@ class CertAuthenticatorTest {
 
             assertThat(token).isEqualTo("auth_token");
         }
+
+        @Test
+        void shouldShareTheTokenBetweenConfigsUsingTheSameCertificateAgainstTheSameVault() throws VaultException {
+            Vault vault = mock(Vault.class);
+            Auth auth = mock(Auth.class);
+            AuthResponse login = authResponse("auth_token", 100, true);
+            Clock clock = mock(Clock.class);
+            CertAuthenticator authenticator = new CertAuthenticator(Runnable::run, clock);
+
+            when(clock.instant()).thenReturn(NOW);
+            when(vault.auth()).thenReturn(auth);
+            when(auth.loginByCert()).thenReturn(login);
+
+            authenticator.authenticate(vault, secretConfig("https://vault", CLIENT_PEM, "10"));
+            String token = authenticator.authenticate(vault, secretConfig("https://vault", CLIENT_PEM.replace("\n", "\r\n"), "20"));
+
+            assertThat(token).isEqualTo("auth_token");
+            verify(auth, times(1)).loginByCert();
+        }
+
+        @Test
+        void shouldRenewTheTokenInsteadOfLoggingInAgain() throws VaultException {
+            Vault vault = mock(Vault.class);
+            Auth auth = mock(Auth.class);
+            AuthResponse login = authResponse("auth_token", 100, true);
+            AuthResponse renewal = authResponse("auth_token", 100, true);
+            Clock clock = mock(Clock.class);
+            CertAuthenticator authenticator = new CertAuthenticator(Runnable::run, clock);
+            SecretConfig secretConfig = secretConfig("https://vault", CLIENT_PEM, "10");
+
+            when(clock.instant()).thenReturn(NOW);
+            when(vault.auth()).thenReturn(auth);
+            when(auth.loginByCert()).thenReturn(login);
+            when(auth.renewSelf()).thenReturn(renewal);
+
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(90));
+            authenticator.authenticate(vault, secretConfig);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(150));
+
+            assertThat(authenticator.authenticate(vault, secretConfig)).isEqualTo("auth_token");
+            verify(auth, times(1)).loginByCert();
+            verify(auth, times(1)).renewSelf();
+        }
+    }
+
+    @Nested
+    class certificateFingerprint {
+        @Test
+        void shouldIgnoreTheArmorAndWhitespaceOfThePem() {
+            assertThat(CertAuthenticator.certificateFingerprint(CLIENT_PEM))
+                    .isEqualTo(CertAuthenticator.certificateFingerprint(CLIENT_PEM.replace("\n", "\r\n")))
+                    .isNotEqualTo(CertAuthenticator.certificateFingerprint(CLIENT_PEM.replace("AbCdEf", "XyZ")));
+        }
+    }
+
+    private SecretConfig secretConfig(String vaultUrl, String clientPem, String readTimeout) {
+        Map<String, String> secretConfigMap = new HashMap<>();
+        secretConfigMap.put("AuthMethod", "cert");
+        secretConfigMap.put("VaultUrl", vaultUrl);
+        secretConfigMap.put("ClientPem", clientPem);
+        secretConfigMap.put("ReadTimeout", readTimeout);
+        return SecretConfig.fromJSON(secretConfigMap);
+    }
+
+    private AuthResponse authResponse(String token, long leaseDuration, boolean renewable) {
+        AuthResponse authResponse = mock(AuthResponse.class);
+        when(authResponse.getAuthClientToken()).thenReturn(token);
+        when(authResponse.getAuthLeaseDuration()).thenReturn(leaseDuration);
+        when(authResponse.isAuthRenewable()).thenReturn(renewable);
+        return authResponse;
     }
-}
\ No newline at end of file
+}
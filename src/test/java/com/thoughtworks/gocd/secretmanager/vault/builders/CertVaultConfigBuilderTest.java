@@ -53,6 +53,14 @@ public class CertVaultConfigBuilderTest {
 
             assertThat(vaultConfig.getNameSpace()).isEqualTo(secretConfig.getNameSpace());
         }
+
+        @Test
+        void shouldShareTheSslConfigBetweenConfigsWithTheSamePems() throws VaultException {
+            VaultConfig first = new CertVaultConfigBuilder().configFrom(secretConfigWith("https://foo.bar", "10", "10", "cert", "", null));
+            VaultConfig second = new CertVaultConfigBuilder().configFrom(secretConfigWith("https://baz.bar", "20", "20", "cert", "", "test"));
+
+            assertThat(second.getSslConfig()).isSameAs(first.getSslConfig());
+        }
     }
 
     private SecretConfig secretConfigWith(String vaultUrl, String connectionTimeout, String readTimeout, String authMethod,
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.builders;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import io.github.jopenlibs.vault.SslConfig;
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SslConfigCacheTest {
+    private final SslConfigCache cache = new SslConfigCache(2);
+    private final AtomicInteger builds = new AtomicInteger();
+
+    @Test
+    void shouldBuildOnceForTheSamePems() throws VaultException {
+        SslConfig first = cache.sslConfigFor("cert", secretConfig("https://vault-1", "server-pem", "client-pem"), this::build);
+        SslConfig second = cache.sslConfigFor("cert", secretConfig("https://vault-2", "server-pem", "client-pem"), this::build);
+
+        assertThat(second).isSameAs(first);
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void shouldBuildAgainForDifferentPems() throws VaultException {
+        SslConfig first = cache.sslConfigFor("cert", secretConfig("https://vault", "server-pem", "client-pem"), this::build);
+        SslConfig second = cache.sslConfigFor("cert", secretConfig("https://vault", "server-pem", "other-client-pem"), this::build);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(builds).hasValue(2);
+    }
+
+    @Test
+    void shouldKeepDifferentKindsApart() throws VaultException {
+        SslConfig token = cache.sslConfigFor("token", secretConfig("https://vault", "server-pem", null), this::build);
+        SslConfig cert = cache.sslConfigFor("cert", secretConfig("https://vault", "server-pem", null), this::build);
+
+        assertThat(cert).isNotSameAs(token);
+    }
+
+    @Test
+    void shouldNotCacheFailedBuilds() throws VaultException {
+        assertThatThrownBy(() -> cache.sslConfigFor("cert", secretConfig("https://vault", "bad-pem", null), () -> {
+            throw new VaultException("Invalid PEM");
+        })).isInstanceOf(VaultException.class);
+
+        cache.sslConfigFor("cert", secretConfig("https://vault", "bad-pem", null), this::build);
+        assertThat(builds).hasValue(1);
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedWhenFull() throws VaultException {
+        cache.sslConfigFor("cert", secretConfig("https://vault", "a", null), this::build);
+        cache.sslConfigFor("cert", secretConfig("https://vault", "b", null), this::build);
+        cache.sslConfigFor("cert", secretConfig("https://vault", "c", null), this::build);
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    private SslConfig build() {
+        builds.incrementAndGet();
+        return new SslConfig();
+    }
+
+    private SecretConfig secretConfig(String vaultUrl, String serverPem, String clientPem) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("VaultUrl", vaultUrl);
+        properties.put("AuthMethod", "cert");
+        properties.put("ServerPem", serverPem);
+        properties.put("ClientPem", clientPem);
+        return SecretConfig.fromJSON(properties);
+    }
+}
@@ -52,6 +52,35 @@ class TokenVaultConfigBuilderTest {
 
             assertThat(vaultConfig.getNameSpace()).isEqualTo(secretConfig.getNameSpace());
         }
+
+        @Test
+        void shouldReuseTheConfigBuiltForAnUnchangedSecretConfig() throws VaultException {
+            VaultConfig first = new TokenVaultConfigBuilder().configFrom(secretConfigWith("https://foo.bar", "10", "10", "token", "", null));
+            VaultConfig second = new TokenVaultConfigBuilder().configFrom(secretConfigWith("https://foo.bar", "10", "10", "token", "", null));
+
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        void shouldBuildANewConfigOnceTheSecretConfigChanges() throws VaultException {
+            VaultConfig first = new TokenVaultConfigBuilder().configFrom(secretConfigWith("https://foo.bar", "10", "10", "token", "", null));
+            VaultConfig second = new TokenVaultConfigBuilder().configFrom(secretConfigWith("https://foo.bar", "20", "10", "token", "", null));
+
+            assertThat(second).isNotSameAs(first);
+            assertThat(second.getOpenTimeout()).isEqualTo(20);
+        }
+    }
+
+    @Nested
+    class kvMetadataConfigFrom {
+        @Test
+        void shouldBuildAConfigApartFromTheKvV2One() throws VaultException {
+            SecretConfig secretConfig = secretConfigWith("https://foo.bar", "10", "10", "token", "", null);
+
+            VaultConfig metadataConfig = new TokenVaultConfigBuilder().kvMetadataConfigFrom(secretConfig);
+
+            assertThat(metadataConfig).isNotSameAs(new TokenVaultConfigBuilder().configFrom(secretConfig));
+        }
     }
 
     private SecretConfig secretConfigWith(String vaultUrl, String connectionTimeout, String readTimeout,
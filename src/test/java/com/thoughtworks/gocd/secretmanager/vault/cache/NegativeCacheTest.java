@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NegativeCacheTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    private Clock clock;
+    private NegativeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        cache = new NegativeCache(2, clock);
+    }
+
+    @Test
+    void shouldTreatEveryKeyAtAMissingPathAsMissing() {
+        cache.pathMissing(location("secret/gocd"), TTL);
+
+        assertThat(cache.isMissing(location("secret/gocd"), "key1")).isTrue();
+        assertThat(cache.isMissing(location("secret/gocd"), "key2")).isTrue();
+        assertThat(cache.isMissing(location("secret/other"), "key1")).isFalse();
+    }
+
+    @Test
+    void shouldOnlyTreatTheMissingKeyAsMissing() {
+        cache.keyMissing(location("secret/gocd"), "key1", TTL);
+
+        assertThat(cache.isMissing(location("secret/gocd"), "key1")).isTrue();
+        assertThat(cache.isMissing(location("secret/gocd"), "key2")).isFalse();
+    }
+
+    @Test
+    void shouldForgetMissesOnceTheTtlHasPassed() {
+        cache.keyMissing(location("secret/gocd"), "key1", TTL);
+
+        when(clock.instant()).thenReturn(NOW.plus(TTL));
+
+        assertThat(cache.isMissing(location("secret/gocd"), "key1")).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotRecordMissesWhenTheTtlIsZero() {
+        cache.pathMissing(location("secret/gocd"), Duration.ZERO);
+
+        assertThat(cache.isMissing(location("secret/gocd"), "key1")).isFalse();
+    }
+
+    @Test
+    void shouldHoldAtMostMaxEntriesMisses() {
+        cache.keyMissing(location("secret/gocd"), "key1", TTL);
+        cache.keyMissing(location("secret/gocd"), "key2", TTL);
+        cache.keyMissing(location("secret/gocd"), "key3", TTL);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.isMissing(location("secret/gocd"), "key1")).isFalse();
+    }
+
+    @Test
+    void shouldForgetTheMissesOfInvalidatedLocations() {
+        cache.pathMissing(location("secret/a"), TTL);
+        cache.keyMissing(location("secret/b"), "key1", TTL);
+
+        assertThat(cache.invalidate(location -> location.getPath().equals("secret/a"))).isEqualTo(1);
+
+        assertThat(cache.isMissing(location("secret/a"), "key1")).isFalse();
+        assertThat(cache.isMissing(location("secret/b"), "key1")).isTrue();
+    }
+
+    private SecretLocation location(String path) {
+        return new SecretLocation("https://vault", "ns", "identity", path);
+    }
+}
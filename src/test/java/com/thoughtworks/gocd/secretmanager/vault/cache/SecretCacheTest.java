@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SecretCacheTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration GRACE = Duration.ofSeconds(30);
+
+    private Clock clock;
+    private SecretCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        cache = new SecretCache(2, clock, Runnable::run);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeCachedDataUntilTheTtlHasPassed() throws VaultException {
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "1");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(59));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "1");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldJudgeTheAgeOfAnEntryByTheTtlOfTheConfigReadingIt() throws VaultException {
+        Duration longTtl = Duration.ofSeconds(300);
+        cache.get(location("secret/gocd"), longTtl, Duration.ZERO, this::load);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(70));
+        assertThat(cache.get(location("secret/gocd"), longTtl, Duration.ZERO, this::load)).containsEntry("load", "1");
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "2");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(140));
+        assertThat(cache.get(location("secret/gocd"), longTtl, Duration.ZERO, this::load)).containsEntry("load", "2");
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "3");
+    }
+
+    @Test
+    void shouldNotCacheWhenTheTtlIsZero() throws VaultException {
+        cache.get(location("secret/gocd"), Duration.ZERO, Duration.ZERO, this::load);
+        cache.get(location("secret/gocd"), Duration.ZERO, Duration.ZERO, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepSecretsOfDifferentAuthIdentitiesApart() throws VaultException {
+        cache.get(new SecretLocation("https://vault", null, "identity-1", "secret/gocd"), TTL, Duration.ZERO, this::load);
+        cache.get(new SecretLocation("https://vault", null, "identity-2", "secret/gocd"), TTL, Duration.ZERO, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictTheLeastRecentlyUsedPathWhenFull() throws VaultException {
+        cache.get(location("secret/a"), TTL, Duration.ZERO, this::load);
+        cache.get(location("secret/b"), TTL, Duration.ZERO, this::load);
+        cache.get(location("secret/a"), TTL, Duration.ZERO, this::load);
+        cache.get(location("secret/c"), TTL, Duration.ZERO, this::load);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(location("secret/a"), TTL, Duration.ZERO, this::load)).containsEntry("load", "1");
+        assertThat(cache.get(location("secret/b"), TTL, Duration.ZERO, this::load)).containsEntry("load", "4");
+    }
+
+    @Test
+    void shouldReadTheInvalidatedPathsAgain() throws VaultException {
+        cache.get(location("secret/a"), TTL, Duration.ZERO, this::load);
+        cache.get(location("secret/b"), TTL, Duration.ZERO, this::load);
+
+        assertThat(cache.invalidate(location -> location.getPath().equals("secret/a"))).isEqualTo(1);
+
+        assertThat(cache.get(location("secret/a"), TTL, Duration.ZERO, this::load)).containsEntry("load", "3");
+        assertThat(cache.get(location("secret/b"), TTL, Duration.ZERO, this::load)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() throws VaultException {
+        assertThatThrownBy(() -> cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> {
+            throw new VaultException("boom");
+        })).isInstanceOf(VaultException.class);
+
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load)).containsEntry("load", "1");
+    }
+
+    @Test
+    void shouldServeStaleDataWithinTheGracePeriodWhileRefreshingInTheBackground() throws VaultException {
+        List<Runnable> refreshes = new ArrayList<>();
+        cache = new SecretCache(2, clock, refreshes::add);
+        cache.get(location("secret/gocd"), TTL, GRACE, this::load);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(70));
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "1");
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "1");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldKeepServingStaleDataWhenTheBackgroundRefreshFails() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, GRACE, this::load);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(70));
+        Map<String, String> stale = cache.get(location("secret/gocd"), TTL, GRACE, () -> {
+            throw new VaultException("Vault is sealed", 503);
+        });
+
+        assertThat(stale).containsEntry("load", "1");
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "1");
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldRefreshInTheBackgroundWithTheLoaderItSetsUp() throws VaultException {
+        List<Runnable> refreshes = new ArrayList<>();
+        cache = new SecretCache(2, clock, refreshes::add);
+        cache.get(location("secret/gocd"), TTL, GRACE, this::load);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(70));
+        cache.get(location("secret/gocd"), TTL, GRACE, () -> {
+            throw new AssertionError("Should not refresh with the loader of the lookup");
+        }, null, refresh -> refresh.with(() -> new SecretData(Map.of("load", "background"), null), null));
+        refreshes.get(0).run();
+
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, this::load)).containsEntry("load", "background");
+    }
+
+    @Test
+    void shouldLoadInTheForegroundOnceTheGracePeriodIsOver() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, GRACE, this::load);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(90));
+        assertThatThrownBy(() -> cache.get(location("secret/gocd"), TTL, GRACE, () -> {
+            throw new VaultException("Vault is sealed", 503);
+        })).isInstanceOf(VaultException.class);
+    }
+
+    @Test
+    void shouldKeepServingCachedDataWhenItsVersionIsUnchanged() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> 3L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> 3L)).containsEntry("load", "1");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(119));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> {
+            throw new AssertionError("Should not check the version before the TTL has passed");
+        })).containsEntry("load", "1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldReadAgainWhenTheVersionHasChanged() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> 3L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(4L), () -> 4L)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldReadAgainWhenTheVersionCannotBeChecked() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> 3L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, () -> load(3L), () -> {
+            throw new VaultException("permission denied", 403);
+        })).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldReadAgainWhenTheCachedVersionIsNotKnown() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load, () -> 3L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(60));
+        assertThat(cache.get(location("secret/gocd"), TTL, Duration.ZERO, this::load, () -> 3L)).containsEntry("load", "2");
+    }
+
+    @Test
+    void shouldRevalidateInTheBackgroundWithinTheGracePeriod() throws VaultException {
+        cache.get(location("secret/gocd"), TTL, GRACE, () -> load(3L), () -> 3L);
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(70));
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, () -> load(3L), () -> 3L)).containsEntry("load", "1");
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(129));
+        assertThat(cache.get(location("secret/gocd"), TTL, GRACE, () -> load(3L), () -> 3L)).containsEntry("load", "1");
+        assertThat(loads).hasValue(1);
+    }
+
+    private SecretData load() {
+        return load(null);
+    }
+
+    private SecretData load(Long version) {
+        return new SecretData(Map.of("load", String.valueOf(loads.incrementAndGet())), version);
+    }
+
+    private SecretLocation location(String path) {
+        return new SecretLocation("https://vault", "ns", "identity", path);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.cache;
+
+import io.github.jopenlibs.vault.VaultException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldShareOneReadBetweenConcurrentCallersOfTheSameLocation() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+
+        Future<SecretData> leader = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> {
+            reads.incrementAndGet();
+            readStarted.countDown();
+            releaseRead.await(5, TimeUnit.SECONDS);
+            return data("key", "value");
+        }));
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<SecretData> follower = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> {
+            reads.incrementAndGet();
+            return data("key", "other");
+        }));
+        Thread.sleep(50);
+        releaseRead.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS).getData()).containsEntry("key", "value");
+        assertThat(follower.get(5, TimeUnit.SECONDS).getData()).containsEntry("key", "value");
+        assertThat(reads).hasValue(1);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void shouldShareTheErrorWithEveryoneWaiting() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+
+        Future<SecretData> leader = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> {
+            readStarted.countDown();
+            releaseRead.await(5, TimeUnit.SECONDS);
+            throw new VaultException("Vault is sealed", 503);
+        }));
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<SecretData> follower = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> data("key", "value")));
+        Thread.sleep(50);
+        releaseRead.countDown();
+
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(VaultException.class);
+        assertThatThrownBy(follower::get).hasCauseInstanceOf(VaultException.class).hasRootCauseMessage("Vault is sealed");
+    }
+
+    @Test
+    void shouldShareErrorsWhichAreNotExceptionsAndLetTheNextReadThrough() throws Exception {
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+
+        Future<SecretData> leader = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> {
+            readStarted.countDown();
+            releaseRead.await(5, TimeUnit.SECONDS);
+            throw new LinkageError("Could not load the reader");
+        }));
+        assertThat(readStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<SecretData> follower = executor.submit(() -> singleFlight.read(location("secret/gocd"), () -> data("key", "value")));
+        Thread.sleep(50);
+        releaseRead.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(LinkageError.class);
+        assertThat(singleFlight.size()).isZero();
+        assertThat(singleFlight.read(location("secret/gocd"), () -> data("key", "value")).getData()).containsEntry("key", "value");
+    }
+
+    @Test
+    void shouldReadAgainOnceThePreviousReadHasFinished() throws VaultException {
+        AtomicInteger reads = new AtomicInteger();
+
+        singleFlight.read(location("secret/gocd"), () -> data("read", String.valueOf(reads.incrementAndGet())));
+        SecretData data = singleFlight.read(location("secret/gocd"), () -> data("read", String.valueOf(reads.incrementAndGet())));
+
+        assertThat(data.getData()).containsEntry("read", "2");
+    }
+
+    @Test
+    void shouldNotShareReadsOfDifferentLocations() throws VaultException {
+        assertThat(singleFlight.read(location("secret/a"), () -> data("path", "a")).getData()).containsEntry("path", "a");
+        assertThat(singleFlight.read(location("secret/b"), () -> data("path", "b")).getData()).containsEntry("path", "b");
+    }
+
+    private static SecretData data(String key, String value) {
+        return new SecretData(Map.of(key, value), null);
+    }
+
+    private SecretLocation location(String path) {
+        return new SecretLocation("https://vault", "ns", "identity", path);
+    }
+}
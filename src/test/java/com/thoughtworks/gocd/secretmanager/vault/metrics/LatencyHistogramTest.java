@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+    @Nested
+    class bucketOf {
+        @Test
+        void shouldPutEveryValueIntoABucketWhoseUpperBoundIsWithinTwoPercent() {
+            for (long micros = 0; micros < 5_000_000; micros += 1 + micros / 97) {
+                long upperBound = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(micros));
+
+                assertThat(upperBound).isGreaterThanOrEqualTo(micros);
+                assertThat((double) upperBound).isCloseTo(micros, within(Math.max(1, micros * 0.016)));
+            }
+        }
+
+        @Test
+        void shouldCountValuesBeyondTheRangeInTheLastBucket() {
+            assertThat(LatencyHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKETS - 1);
+        }
+    }
+
+    @Nested
+    class snapshot {
+        @Test
+        void shouldReportPercentilesOfTheRecordedValues() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int millis = 1; millis <= 1000; millis++) {
+                histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+            }
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+            assertThat(snapshot.count()).isEqualTo(1000);
+            assertThat((double) snapshot.percentileMicros(50)).isCloseTo(500_000, within(8_000.0));
+            assertThat((double) snapshot.percentileMicros(99)).isCloseTo(990_000, within(16_000.0));
+            assertThat(snapshot.percentileMicros(100)).isEqualTo(1_000_000);
+            assertThat(snapshot.maxMicros()).isEqualTo(1_000_000);
+            assertThat(snapshot.totalMicros()).isEqualTo(500_500_000);
+            assertThat(snapshot.countAtOrBelow(10_000)).isBetween(9L, 10L);
+        }
+
+        @Test
+        void shouldReportZeroForAnEmptyHistogram() {
+            assertThat(new LatencyHistogram().snapshot().percentileMicros(99)).isZero();
+        }
+    }
+
+    @Nested
+    class record {
+        @Test
+        void shouldNotLoseValuesRecordedConcurrently() throws InterruptedException {
+            LatencyHistogram histogram = new LatencyHistogram();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                threads.add(new Thread(() -> {
+                    for (int value = 0; value < 10_000; value++) {
+                        histogram.record(value * 1000L);
+                    }
+                }));
+            }
+
+            threads.forEach(Thread::start);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertThat(histogram.count()).isEqualTo(80_000);
+            assertThat(histogram.snapshot().count()).isEqualTo(80_000);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count.CACHE_HITS;
+import static com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count.KEYS;
+import static com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase.KV_READ;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LookupMetricsTest {
+    @Test
+    void shouldKeepCountersAndLatenciesSeparatePerVaultUrl() {
+        LookupMetrics metrics = new LookupMetrics();
+
+        metrics.add(KEYS, "https://vault-a", 3);
+        metrics.increment(KEYS, "https://vault-a");
+        metrics.increment(KEYS, "https://vault-b");
+        metrics.record(KV_READ, "https://vault-a", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.record(KV_READ, "https://vault-b", TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.record(KV_READ, "https://vault-b", TimeUnit.MILLISECONDS.toNanos(9));
+
+        assertThat(metrics.count(KEYS, "https://vault-a")).isEqualTo(4);
+        assertThat(metrics.counts(KEYS)).containsOnlyKeys("https://vault-a", "https://vault-b");
+        assertThat(metrics.latencies(KV_READ).get("https://vault-a").count()).isEqualTo(1);
+        assertThat(metrics.latencies(KV_READ).get("https://vault-b").count()).isEqualTo(2);
+        assertThat(metrics.latencies(KV_READ).get("https://vault-b").maxMicros()).isEqualTo(9000);
+    }
+
+    @Test
+    void shouldNotCreateACounterWhenThereIsNothingToAdd() {
+        LookupMetrics metrics = new LookupMetrics();
+
+        metrics.add(CACHE_HITS, "https://vault-a", 0);
+
+        assertThat(metrics.count(CACHE_HITS, "https://vault-a")).isZero();
+        assertThat(metrics.counts(CACHE_HITS)).isEmpty();
+    }
+}
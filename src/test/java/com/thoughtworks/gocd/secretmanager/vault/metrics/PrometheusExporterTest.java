@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrometheusExporterTest {
+    private PrometheusFormat format;
+    private PrometheusExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        format = mock(PrometheusFormat.class);
+        when(format.render()).thenReturn("gocd_vault_clients 1\n");
+        exporter = new PrometheusExporter(format);
+    }
+
+    @AfterEach
+    void tearDown() {
+        exporter.close();
+    }
+
+    @Test
+    void shouldServeTheMetricsOnTheLoopbackAddress() throws IOException, InterruptedException {
+        int port = exporter.serve(0);
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics")).build(), HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).contains(PrometheusFormat.CONTENT_TYPE);
+        assertThat(response.body()).isEqualTo("gocd_vault_clients 1\n");
+    }
+
+    @Test
+    void shouldReplaceTheTextfileWithoutLeavingPartialFilesBehind(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("gocd_vault.prom");
+        Files.writeString(file, "old");
+
+        exporter.writeTo(file);
+
+        assertThat(Files.readString(file)).isEqualTo("gocd_vault_clients 1\n");
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+}
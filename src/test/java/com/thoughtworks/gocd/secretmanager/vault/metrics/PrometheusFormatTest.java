@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.metrics;
+
+import com.thoughtworks.gocd.secretmanager.vault.PluginRuntimeMXBean;
+import com.thoughtworks.gocd.secretmanager.vault.authenticator.TokenLeaseState;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Count;
+import com.thoughtworks.gocd.secretmanager.vault.metrics.LookupMetrics.Phase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrometheusFormatTest {
+    private LookupMetrics metrics;
+    private PluginRuntimeMXBean runtime;
+    private PrometheusFormat format;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new LookupMetrics();
+        runtime = mock(PluginRuntimeMXBean.class);
+        format = new PrometheusFormat(metrics, runtime);
+    }
+
+    @Test
+    void shouldRenderLatenciesAsCumulativeHistogramsInSeconds() {
+        metrics.record(Phase.KV_READ, "https://vault", TimeUnit.MICROSECONDS.toNanos(800));
+        metrics.record(Phase.KV_READ, "https://vault", TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.record(Phase.KV_READ, "https://vault", TimeUnit.SECONDS.toNanos(20));
+
+        assertThat(format.render())
+                .contains("# TYPE gocd_vault_kv_read_seconds histogram\n")
+                .contains("gocd_vault_kv_read_seconds_bucket{vault=\"https://vault\",le=\"0.001\"} 1\n")
+                .contains("gocd_vault_kv_read_seconds_bucket{vault=\"https://vault\",le=\"0.025\"} 1\n")
+                .contains("gocd_vault_kv_read_seconds_bucket{vault=\"https://vault\",le=\"0.05\"} 2\n")
+                .contains("gocd_vault_kv_read_seconds_bucket{vault=\"https://vault\",le=\"10.0\"} 2\n")
+                .contains("gocd_vault_kv_read_seconds_bucket{vault=\"https://vault\",le=\"+Inf\"} 3\n")
+                .contains("gocd_vault_kv_read_seconds_sum{vault=\"https://vault\"} 20.0408\n")
+                .contains("gocd_vault_kv_read_seconds_count{vault=\"https://vault\"} 3\n");
+    }
+
+    @Test
+    void shouldRenderCountersAndGaugesPerVault() {
+        metrics.add(Count.CACHE_HITS, "https://vault", 7);
+        when(runtime.getLeasedConnections()).thenReturn(Map.of("https://vault", 2));
+        when(runtime.getClients()).thenReturn(3);
+        when(runtime.getTokenLeases()).thenReturn(List.of(new TokenLeaseState("identity", "https://vault", "approle",
+                "2026-01-01T00:00:00Z", "2026-01-01T00:01:40Z", 100, 60, true, false, false)));
+
+        assertThat(format.render())
+                .contains("# TYPE gocd_vault_cache_hits_total counter\ngocd_vault_cache_hits_total{vault=\"https://vault\"} 7\n")
+                .contains("gocd_vault_pool_leased_connections{vault=\"https://vault\"} 2\n")
+                .contains("gocd_vault_clients 3\n")
+                .contains("gocd_vault_token_lease_remaining_seconds{vault=\"https://vault\",auth_method=\"approle\",identity=\"identity\"} 60\n");
+    }
+
+    @Test
+    void shouldEscapeLabelValues() {
+        assertThat(PrometheusFormat.escape("a\\b\"c\nd")).isEqualTo("a\\\\b\\\"c\\nd");
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.thoughtworks.gocd.secretmanager.vault.models;
 
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
 import org.junit.jupiter.api.Test;
 
+import java.lang.reflect.Field;
 import java.util.HashMap;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -46,4 +50,65 @@ class SecretConfigTest {
         assertThat(secretConfig.getMaxRetries()).isEqualTo(5);
         assertThat(secretConfig.getRetryIntervalMilliseconds()).isEqualTo(200);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldHaveTheSameFingerprintForEqualConfigs() {
+        SecretConfig secretConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token"));
+        SecretConfig sameConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token"));
+        SecretConfig otherConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "other-token"));
+
+        assertThat(secretConfig.fingerprint()).isEqualTo(sameConfig.fingerprint());
+        assertThat(secretConfig.fingerprint()).isNotEqualTo(otherConfig.fingerprint());
+    }
+
+    @Test
+    void shouldKeepTheFingerprintWhenOnlyCachingOrBatchingChanges() {
+        SecretConfig secretConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token"));
+        SecretConfig tunedConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token",
+                "CacheTtlSeconds", "60", "NegativeCacheTtlSeconds", "30", "BatchWindowMilliseconds", "5", "MaxConcurrentReads", "8"));
+        SecretConfig pooledConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token",
+                "Transport", "pooled"));
+
+        assertThat(tunedConfig.fingerprint()).isEqualTo(secretConfig.fingerprint());
+        assertThat(pooledConfig.fingerprint()).isNotEqualTo(secretConfig.fingerprint());
+    }
+
+    @Test
+    void shouldNotBatchConfigsWhichReadOrCacheDifferently() {
+        SecretConfig secretConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token"));
+        SecretConfig sameConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token"));
+        SecretConfig cachingConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token",
+                "CacheTtlSeconds", "60"));
+        SecretConfig concurrentConfig = SecretConfig.fromJSON(Map.of("VaultUrl", "https://foo.bar", "Token", "some-token",
+                "MaxConcurrentReads", "8"));
+
+        assertThat(sameConfig.batchKey()).isEqualTo(secretConfig.batchKey());
+        assertThat(cachingConfig.batchKey()).isNotEqualTo(secretConfig.batchKey());
+        assertThat(concurrentConfig.batchKey()).isNotEqualTo(secretConfig.batchKey());
+    }
+
+    @Test
+    void shouldBindEveryExposedPropertyLikeTheGsonRoundTrip() {
+        Map<String, String> properties = new HashMap<>();
+        for (Field field : SecretConfig.class.getDeclaredFields()) {
+            SerializedName serializedName = field.getAnnotation(SerializedName.class);
+            if (serializedName != null) {
+                properties.put(serializedName.value(), "value-of-" + serializedName.value());
+            }
+        }
+
+        SecretConfig viaGson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create()
+                .fromJson(new GsonBuilder().create().toJson(properties), SecretConfig.class);
+
+        assertThat(SecretConfig.fromJSON(properties)).isEqualTo(viaGson);
+    }
+
+    @Test
+    void shouldReturnTheSameParsedValueOnEveryCall() {
+        SecretConfig secretConfig = SecretConfig.fromJSON(Map.of("MaxRetries", "3"));
+
+        assertThat(secretConfig.getMaxRetries()).isEqualTo(3);
+        assertThat(secretConfig.getMaxRetries()).isEqualTo(3);
+        assertThat(secretConfig.getReadTimeout()).isEqualTo(30);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.request;
+
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static cd.go.plugin.base.GsonTransformer.fromJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SecretConfigRequestParserTest {
+    private static final String REQUEST = "{\n" +
+            "  \"configuration\": {\n" +
+            "    \"VaultUrl\": \"https://vault.example.com\",\n" +
+            "    \"VaultPath\": \"secret/gocd\",\n" +
+            "    \"AuthMethod\": \"token\",\n" +
+            "    \"Token\": \"some-token\",\n" +
+            "    \"MaxRetries\": \"3\"\n" +
+            "  },\n" +
+            "  \"keys\": [\"key1\", \"a:key2\", \"key1\"]\n" +
+            "}";
+
+    @Nested
+    class parse {
+        @Test
+        void shouldReadTheSameRequestAsReflectiveGson() {
+            SecretConfigRequest request = new SecretConfigRequestParser().parse(REQUEST);
+            SecretConfigRequest expected = fromJson(REQUEST, SecretConfigRequest.class);
+
+            assertThat(request.getConfiguration()).isEqualTo(expected.getConfiguration());
+            assertThat(request.getKeys()).isEqualTo(expected.getKeys());
+        }
+
+        @Test
+        void shouldShareOneInstanceForRepeatedKeys() {
+            List<String> keys = new SecretConfigRequestParser().parse(REQUEST).getKeys();
+
+            assertThat(keys.get(2)).isSameAs(keys.get(0));
+        }
+
+        @Test
+        void shouldIgnoreUnknownFieldsAndNullProperties() {
+            SecretConfigRequest request = new SecretConfigRequestParser()
+                    .parse("{\"extra\": {\"nested\": [1, 2]}, \"configuration\": {\"VaultUrl\": \"https://vault\", \"Token\": null}, \"keys\": []}");
+
+            assertThat(request.getConfiguration()).isEqualTo(SecretConfig.fromJSON(Map.of("VaultUrl", "https://vault")));
+            assertThat(request.getKeys()).isEmpty();
+        }
+
+        @Test
+        void shouldRejectBodiesLargerThanTheLimit() {
+            assertThatThrownBy(() -> new SecretConfigRequestParser(10, 100).parse(REQUEST))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("exceeds the limit of 10 characters");
+        }
+
+        @Test
+        void shouldStopReadingABodyOnceItPassesTheLimit() {
+            String oversized = REQUEST + " ".repeat(64 * 1024);
+            AtomicInteger charsRead = new AtomicInteger();
+            StringReader body = new StringReader(oversized) {
+                @Override
+                public int read(char[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    charsRead.addAndGet(Math.max(read, 0));
+                    return read;
+                }
+            };
+
+            assertThatThrownBy(() -> new SecretConfigRequestParser(REQUEST.length(), 100).parse(body))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Lookup request exceeds the limit of " + REQUEST.length() + " characters.");
+            assertThat(charsRead.get()).isLessThan(oversized.length());
+        }
+
+        @Test
+        void shouldRejectRequestsWithMoreKeysThanTheLimit() {
+            assertThatThrownBy(() -> new SecretConfigRequestParser(REQUEST.length(), 2).parse(REQUEST))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Lookup request has more than 2 keys.");
+        }
+
+        @Test
+        void shouldRejectMalformedRequests() {
+            assertThatThrownBy(() -> new SecretConfigRequestParser().parse("{\"keys\": [\"key1\""))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Malformed lookup request");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemorySpanExporterTest {
+    @Test
+    void shouldKeepOnlyTheMostRecentTraces() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(2);
+
+        exporter.export(List.of(span("first")));
+        exporter.export(List.of(span("second")));
+        exporter.export(List.of(span("third")));
+
+        assertThat(exporter.traces()).extracting(trace -> trace.get(0).getName()).containsExactly("second", "third");
+        assertThat(exporter.tracesAsJson()).hasSize(2).allSatisfy(line -> assertThat(line).startsWith("{\"resourceSpans\":"));
+    }
+
+    private static SpanData span(String name) {
+        return new SpanData("0af7651916cd43dd8448eb211c80319c", "00f067aa0ba902b7", null, name, 1, 2, Map.of(), null);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLinesSpanExporterTest {
+    @Test
+    void shouldAppendOneLinePerTrace(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("traces.jsonl");
+        Files.writeString(file, "{}\n");
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(file);
+
+        exporter.export(List.of(span("first")));
+        exporter.export(List.of(span("second")));
+        exporter.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo("{}");
+        assertThat(lines.get(1)).startsWith("{\"resourceSpans\":").contains("\"name\":\"first\"");
+        assertThat(lines.get(2)).contains("\"name\":\"second\"");
+    }
+
+    private static SpanData span(String name) {
+        return new SpanData("0af7651916cd43dd8448eb211c80319c", "00f067aa0ba902b7", null, name, 1, 2, Map.of(), null);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtlpJsonTest {
+    @Test
+    void shouldWriteATraceAsAnExportTraceServiceRequest() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("vault.path", "secret/gocd");
+        attributes.put("retries", 2L);
+        attributes.put("client.built", true);
+        SpanData child = new SpanData("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", "00f067aa0ba902b7", "vault.read",
+                1_000_000_000L, 1_500_000_000L, attributes, "permission denied");
+        SpanData root = new SpanData("0af7651916cd43dd8448eb211c80319c", "00f067aa0ba902b7", null, "secrets.lookup",
+                900_000_000L, 1_600_000_000L, Map.of(), null);
+
+        JsonObject request = JsonParser.parseString(OtlpJson.toJson(List.of(child, root))).getAsJsonObject();
+
+        JsonObject resourceSpans = request.getAsJsonArray("resourceSpans").get(0).getAsJsonObject();
+        assertThat(resourceSpans.getAsJsonObject("resource").toString()).contains("\"service.name\"", OtlpJson.SERVICE_NAME);
+        JsonObject scopeSpans = resourceSpans.getAsJsonArray("scopeSpans").get(0).getAsJsonObject();
+        assertThat(scopeSpans.getAsJsonObject("scope").get("name").getAsString()).isEqualTo(OtlpJson.SCOPE_NAME);
+
+        JsonArray spans = scopeSpans.getAsJsonArray("spans");
+        JsonObject span = spans.get(0).getAsJsonObject();
+        assertThat(span.get("traceId").getAsString()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+        assertThat(span.get("parentSpanId").getAsString()).isEqualTo("00f067aa0ba902b7");
+        assertThat(span.get("startTimeUnixNano").getAsString()).isEqualTo("1000000000");
+        assertThat(span.get("endTimeUnixNano").getAsString()).isEqualTo("1500000000");
+        assertThat(span.getAsJsonArray("attributes").toString()).isEqualTo("[" +
+                "{\"key\":\"vault.path\",\"value\":{\"stringValue\":\"secret/gocd\"}}," +
+                "{\"key\":\"retries\",\"value\":{\"intValue\":\"2\"}}," +
+                "{\"key\":\"client.built\",\"value\":{\"boolValue\":true}}]");
+        assertThat(span.getAsJsonObject("status").get("code").getAsInt()).isEqualTo(2);
+        assertThat(span.getAsJsonObject("status").get("message").getAsString()).isEqualTo("permission denied");
+
+        JsonObject rootSpan = spans.get(1).getAsJsonObject();
+        assertThat(rootSpan.has("parentSpanId")).isFalse();
+        assertThat(rootSpan.has("status")).isFalse();
+    }
+}
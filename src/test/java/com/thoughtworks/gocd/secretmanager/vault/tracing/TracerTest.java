@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracerTest {
+    @Test
+    void shouldHandOutTheNoopSpanWhenDisabled() {
+        Span span = Tracer.disabled().startTrace("secrets.lookup");
+
+        assertThat(span).isSameAs(Span.NOOP);
+        assertThat(span.child("path.read").attribute("cache", "hit")).isSameAs(Span.NOOP);
+        assertThat(Tracer.disabled().isEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldExportTheSpansOfATraceOnceItsRootEnds() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        Span root = new Tracer(exporter).startTrace("secrets.lookup").attribute("keys", 2);
+        Span pathRead = root.child("path.read").attribute("cache", "miss");
+        pathRead.child("vault.read").error(new IllegalStateException("sealed")).end();
+        pathRead.end();
+
+        assertThat(exporter.traces()).isEmpty();
+        root.end();
+        root.end();
+
+        assertThat(exporter.traces()).hasSize(1);
+        List<SpanData> trace = exporter.traces().get(0);
+        assertThat(trace).extracting(SpanData::getName).containsExactly("vault.read", "path.read", "secrets.lookup");
+        assertThat(trace).extracting(SpanData::getTraceId).containsOnly(trace.get(2).getTraceId());
+        assertThat(trace.get(0).getParentSpanId()).isEqualTo(trace.get(1).getSpanId());
+        assertThat(trace.get(1).getParentSpanId()).isEqualTo(trace.get(2).getSpanId());
+        assertThat(trace.get(2).getParentSpanId()).isNull();
+        assertThat(trace.get(0).getError()).isEqualTo("sealed");
+        assertThat(trace.get(1).getAttributes()).containsEntry("cache", "miss");
+        assertThat(trace.get(2).getAttributes()).containsEntry("keys", 2L);
+        assertThat(trace.get(2).durationNanos()).isNotNegative();
+    }
+
+    @Test
+    void shouldDropSpansWhichEndAfterTheirTraceWasExported() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter(10);
+        Span root = new Tracer(exporter).startTrace("secrets.lookup");
+        Span late = root.child("vault.read");
+
+        root.end();
+        late.end();
+
+        assertThat(exporter.traces().get(0)).extracting(SpanData::getName).containsExactly("secrets.lookup");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.rest.RestResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class Http2TransportTest {
+    private final AtomicReference<String> token = new AtomicReference<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/secret/data/gocd", exchange -> {
+            token.set(exchange.getRequestHeaders().getFirst("X-Vault-Token"));
+            byte[] body = "{\"data\":{}}".getBytes(UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldFallBackToHttp11ForAddressesWithoutHttp2() throws IOException, VaultException {
+        Http2Transport transport = new Http2Transport(vaultConfig("http://127.0.0.1:" + server.getAddress().getPort()));
+
+        RestResponse response = transport.get("/v1/secret/data/gocd", Map.of("X-Vault-Token", "some-token"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getMimeType()).isEqualTo("application/json");
+        assertThat(new String(response.getBody(), UTF_8)).isEqualTo("{\"data\":{}}");
+        assertThat(token).hasValue("some-token");
+    }
+
+    @Test
+    void shouldIgnoreTrailingSlashesOfTheAddress() throws IOException, VaultException {
+        Http2Transport transport = new Http2Transport(vaultConfig("http://127.0.0.1:" + server.getAddress().getPort() + "/"));
+
+        assertThat(transport.get("/v1/secret/data/gocd", Map.of()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldReturnResponsesForUnknownPaths() throws IOException, VaultException {
+        Http2Transport transport = new Http2Transport(vaultConfig("http://127.0.0.1:" + server.getAddress().getPort()));
+
+        assertThat(transport.get("/v1/secret/data/missing", Map.of()).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void shouldShutDownItsExecutorOnCloseAndKeepServingRequestsSentAfterwards() throws IOException, VaultException {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        Http2Transport transport = new Http2Transport(vaultConfig("http://127.0.0.1:" + server.getAddress().getPort()), executor);
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        transport.close();
+
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(transport.get("/v1/secret/data/gocd", Map.of()).getStatus()).isEqualTo(200);
+    }
+
+    private VaultConfig vaultConfig(String address) {
+        VaultConfig vaultConfig = mock(VaultConfig.class);
+        when(vaultConfig.getAddress()).thenReturn(address);
+        when(vaultConfig.getOpenTimeout()).thenReturn(5);
+        when(vaultConfig.getReadTimeout()).thenReturn(5);
+        return vaultConfig;
+    }
+}
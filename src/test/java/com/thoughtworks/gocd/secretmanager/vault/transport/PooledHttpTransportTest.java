@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.rest.RestResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PooledHttpTransportTest {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final List<HttpExchange> exchanges = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private Clock clock;
+    private PooledHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException, VaultException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/secret/data/gocd", exchange -> respond(exchange, 200, "{\"data\":{}}", false));
+        server.createContext("/v1/secret/data/chunked", exchange -> respond(exchange, 200, "{\"data\":{\"chunked\":true}}", true));
+        server.createContext("/v1/secret/data/missing", exchange -> respond(exchange, 404, "{\"errors\":[]}", false));
+        server.createContext("/v1/secret/data/closing", exchange -> {
+            exchange.getResponseHeaders().add("Connection", "close");
+            respond(exchange, 200, "{}", false);
+        });
+        server.start();
+
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        transport = new PooledHttpTransport(vaultConfig(), 2, Duration.ofSeconds(30), Duration.ofSeconds(300), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldReuseTheConnectionForConsecutiveRequests() throws IOException {
+        RestResponse first = transport.get("/v1/secret/data/gocd", Map.of());
+        RestResponse second = transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(new String(second.getBody(), UTF_8)).isEqualTo("{\"data\":{}}");
+        assertThat(transport.connectionsCreated()).isEqualTo(1);
+        assertThat(transport.connectionsReused()).isEqualTo(1);
+        assertThat(transport.idleConnections()).isEqualTo(1);
+        assertThat(transport.leasedConnections()).isZero();
+    }
+
+    @Test
+    void shouldSendTheRequestHeaders() throws IOException {
+        transport.get("/v1/secret/data/gocd", Map.of("X-Vault-Token", "some-token", "X-Vault-Namespace", "ns"));
+
+        assertThat(exchanges).hasSize(1);
+        assertThat(exchanges.get(0).getRequestMethod()).isEqualTo("GET");
+        assertThat(exchanges.get(0).getRequestHeaders().getFirst("X-Vault-Token")).isEqualTo("some-token");
+        assertThat(exchanges.get(0).getRequestHeaders().getFirst("X-Vault-Namespace")).isEqualTo("ns");
+    }
+
+    @Test
+    void shouldReadChunkedResponsesAndKeepTheConnection() throws IOException {
+        RestResponse response = transport.get("/v1/secret/data/chunked", Map.of());
+        transport.get("/v1/secret/data/chunked", Map.of());
+
+        assertThat(new String(response.getBody(), UTF_8)).isEqualTo("{\"data\":{\"chunked\":true}}");
+        assertThat(transport.connectionsReused()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnErrorResponsesAndKeepTheConnection() throws IOException {
+        RestResponse response = transport.get("/v1/secret/data/missing", Map.of());
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getMimeType()).isEqualTo("application/json");
+        assertThat(transport.connectionsReused()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotReuseAConnectionTheServerAskedToClose() throws IOException {
+        transport.get("/v1/secret/data/closing", Map.of());
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(transport.connectionsCreated()).isEqualTo(2);
+        assertThat(transport.connectionsReused()).isZero();
+    }
+
+    @Test
+    void shouldOpenANewConnectionOnceTheIdleOneTimedOut() throws IOException {
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(transport.connectionsCreated()).isEqualTo(2);
+        assertThat(transport.connectionsReused()).isZero();
+    }
+
+    @Test
+    void shouldNotReuseConnectionsPastTheirMaxLifetime() throws IOException, VaultException {
+        transport.close();
+        transport = new PooledHttpTransport(vaultConfig(), 2, Duration.ofSeconds(600), Duration.ofSeconds(300), clock);
+
+        transport.get("/v1/secret/data/gocd", Map.of());
+        when(clock.instant()).thenReturn(NOW.plusSeconds(20));
+        transport.get("/v1/secret/data/gocd", Map.of());
+        when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(transport.connectionsCreated()).isEqualTo(2);
+        assertThat(transport.connectionsReused()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepServingRequestsOnceClosedWithoutKeepingTheirConnections() throws IOException {
+        transport.get("/v1/secret/data/gocd", Map.of());
+
+        transport.close();
+        RestResponse response = transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(transport.connectionsCreated()).isEqualTo(2);
+        assertThat(transport.idleConnections()).isZero();
+        assertThat(transport.leasedConnections()).isZero();
+    }
+
+    @Test
+    void shouldSendTheRequestAgainOnANewConnectionWhenTheServerDroppedTheIdleOne() throws IOException, VaultException {
+        transport.get("/v1/secret/data/gocd", Map.of());
+        int port = server.getAddress().getPort();
+        server.stop(0);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/v1/secret/data/gocd", exchange -> respond(exchange, 200, "{}", false));
+        server.start();
+
+        RestResponse response = transport.get("/v1/secret/data/gocd", Map.of());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(transport.connectionsCreated()).isEqualTo(2);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body, boolean chunked) throws IOException {
+        exchanges.add(exchange);
+        byte[] bytes = body.getBytes(UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, chunked ? 0 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private VaultConfig vaultConfig() {
+        VaultConfig vaultConfig = mock(VaultConfig.class);
+        when(vaultConfig.getAddress()).thenReturn("http://127.0.0.1:" + server.getAddress().getPort());
+        when(vaultConfig.getOpenTimeout()).thenReturn(5);
+        when(vaultConfig.getReadTimeout()).thenReturn(5);
+        return vaultConfig;
+    }
+}
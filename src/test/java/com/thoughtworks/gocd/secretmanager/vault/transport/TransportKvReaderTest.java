@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.transport;
+
+import io.github.jopenlibs.vault.VaultConfig;
+import io.github.jopenlibs.vault.VaultException;
+import io.github.jopenlibs.vault.response.LogicalResponse;
+import io.github.jopenlibs.vault.rest.RestResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoSettings;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@MockitoSettings
+class TransportKvReaderTest {
+    @Mock
+    private VaultTransport transport;
+    @Mock
+    private VaultConfig vaultConfig;
+
+    @BeforeEach
+    void setUp() {
+        when(vaultConfig.getToken()).thenReturn("some-token");
+    }
+
+    @Test
+    void shouldReadTheDataOfAKvV2Path() throws Exception {
+        when(transport.get(eq("/v1/secret/data/gocd/app"), any())).thenReturn(response(200,
+                "{\"data\": {\"data\": {\"key\": \"value\"}, \"metadata\": {\"version\": 3}}}"));
+
+        LogicalResponse response = new TransportKvReader(transport, vaultConfig, true, 0, 0).read("secret/gocd/app");
+
+        assertThat(response.getData()).containsExactly(Map.entry("key", "value"));
+        assertThat(response.getDataMetadata().getVersion()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldReadPathsAsGivenWhenNotReadingKvV2Data() throws Exception {
+        when(transport.get(eq("/v1/secret/metadata/gocd"), any())).thenReturn(response(200,
+                "{\"data\": {\"current_version\": 3}}"));
+
+        LogicalResponse response = new TransportKvReader(transport, vaultConfig, false, 0, 0).read("secret/metadata/gocd");
+
+        assertThat(response.getData()).containsEntry("current_version", "3");
+    }
+
+    @Test
+    void shouldSendTheTokenAndNamespace() throws Exception {
+        when(vaultConfig.getNameSpace()).thenReturn("ns");
+        when(transport.get(any(), any())).thenReturn(response(200, "{\"data\": {\"data\": {}}}"));
+
+        new TransportKvReader(transport, vaultConfig, true, 0, 0).read("secret/gocd");
+
+        verify(transport).get("/v1/secret/data/gocd", Map.of(
+                "X-Vault-Token", "some-token",
+                "X-Vault-Namespace", "ns",
+                "X-Vault-Request", "true"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {403, 404, 429})
+    void shouldReturnClientErrorResponsesWithoutRetrying(int status) throws Exception {
+        when(transport.get(any(), any())).thenReturn(response(status, "{\"errors\": []}"));
+
+        LogicalResponse response = new TransportKvReader(transport, vaultConfig, true, 2, 0).read("secret/missing");
+
+        assertThat(response.getRestResponse().getStatus()).isEqualTo(status);
+        verify(transport, times(1)).get(any(), any());
+    }
+
+    @Test
+    void shouldRetryFailedReads() throws Exception {
+        when(transport.get(any(), any()))
+                .thenThrow(new IOException("Connection reset"))
+                .thenReturn(response(503, "{\"errors\": [\"Vault is sealed\"]}"))
+                .thenReturn(response(200, "{\"data\": {\"data\": {\"key\": \"value\"}}}"));
+
+        LogicalResponse response = new TransportKvReader(transport, vaultConfig, true, 2, 0).read("secret/gocd");
+
+        assertThat(response.getData()).containsEntry("key", "value");
+        verify(transport, times(3)).get(any(), any());
+    }
+
+    @Test
+    void shouldFailWithTheStatusOnceTheRetriesAreUsedUp() throws Exception {
+        when(transport.get(any(), any())).thenReturn(response(503, "{\"errors\": [\"Vault is sealed\"]}"));
+
+        assertThatThrownBy(() -> new TransportKvReader(transport, vaultConfig, true, 1, 0).read("secret/gocd"))
+                .isInstanceOf(VaultException.class)
+                .hasMessageContaining("Vault is sealed")
+                .satisfies(e -> assertThat(((VaultException) e).getHttpStatusCode()).isEqualTo(503))
+                .satisfies(e -> assertThat(((KvReadException) e).getRetries()).isEqualTo(1));
+        verify(transport, times(2)).get(any(), any());
+    }
+
+    private static RestResponse response(int status, String body) {
+        return new RestResponse(status, "application/json", body.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault.validation;
+
+import cd.go.plugin.base.validation.ValidationResult;
+import com.thoughtworks.gocd.secretmanager.vault.models.SecretConfig;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecretConfigValidatorsTest {
+    @Nested
+    class validate {
+        @Test
+        void shouldMergeErrorsFromAllValidators() {
+            Map<String, String> request = Map.of("AuthMethod", "token");
+
+            ValidationResult result = new SecretConfigValidators(
+                    new TokenAuthMethodValidator(),
+                    rejecting("VaultUrl")
+            ).validate(request);
+
+            assertThat(result).hasSize(2);
+        }
+
+        @Test
+        void shouldBindTheRequestBodyOnceForAllValidators() {
+            List<SecretConfig> seen = new ArrayList<>();
+            SecretConfigValidator recording = new SecretConfigValidator() {
+                @Override
+                public ValidationResult validate(SecretConfig secretConfig) {
+                    seen.add(secretConfig);
+                    return new ValidationResult();
+                }
+            };
+
+            ValidationResult result = new SecretConfigValidators(recording, recording).validate(Map.of("VaultUrl", "https://vault"));
+
+            assertThat(result).isEmpty();
+            assertThat(seen).hasSize(2);
+            assertThat(seen.get(0)).isSameAs(seen.get(1));
+            assertThat(seen.get(0).getVaultUrl()).isEqualTo("https://vault");
+        }
+    }
+
+    private static SecretConfigValidator rejecting(String key) {
+        return new SecretConfigValidator() {
+            @Override
+            public ValidationResult validate(SecretConfig secretConfig) {
+                ValidationResult result = new ValidationResult();
+                result.add(key, "rejected");
+                return result;
+            }
+        };
+    }
+}
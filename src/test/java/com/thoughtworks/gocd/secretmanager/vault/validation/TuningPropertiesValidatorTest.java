@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.thoughtworks.gocd.secretmanager.vault.validation;
+
+import cd.go.plugin.base.validation.ValidationResult;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TuningPropertiesValidatorTest {
+    @Nested
+    class validate {
+        @Test
+        void shouldNotHaveErrorsWhenNoTuningPropertyIsSet() {
+            ValidationResult result = new TuningPropertiesValidator().validate(singletonMap("AuthMethod", "token"));
+
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void shouldNotHaveErrorsForValidTuningProperties() {
+            Map<String, String> request = new HashMap<>();
+            request.put("MaxConcurrentReads", "1");
+            request.put("BatchWindowMilliseconds", "0");
+            request.put("CacheTtlSeconds", "60");
+            request.put("CacheStaleGraceSeconds", "30");
+            request.put("NegativeCacheTtlSeconds", "10");
+            request.put("TokenRenewalPercentage", "99");
+            request.put("Transport", "http2");
+
+            ValidationResult result = new TuningPropertiesValidator().validate(request);
+
+            assertThat(result).isEmpty();
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"0", "-5", "100", "150", "half"})
+        void shouldHaveErrorsForTokenRenewalPercentageOutsideOneToNinetyNine(String percentage) {
+            ValidationResult result = new TuningPropertiesValidator().validate(singletonMap("TokenRenewalPercentage", percentage));
+
+            assertThat(result).hasSize(1);
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"MaxConcurrentReads", "BatchWindowMilliseconds", "CacheTtlSeconds", "CacheStaleGraceSeconds", "NegativeCacheTtlSeconds"})
+        void shouldHaveErrorsForNegativeOrNonNumericValues(String property) {
+            assertThat(new TuningPropertiesValidator().validate(singletonMap(property, "-1"))).hasSize(1);
+            assertThat(new TuningPropertiesValidator().validate(singletonMap(property, "ten"))).hasSize(1);
+        }
+
+        @Test
+        void shouldHaveErrorsForAnUnknownTransport() {
+            ValidationResult result = new TuningPropertiesValidator().validate(singletonMap("Transport", "http3"));
+
+            assertThat(result).hasSize(1);
+        }
+    }
+}
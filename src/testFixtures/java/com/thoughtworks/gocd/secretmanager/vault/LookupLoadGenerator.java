@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.thoughtworks.go.plugin.api.request.DefaultGoPluginApiRequest;
+import com.thoughtworks.go.plugin.api.response.GoPluginApiResponse;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays GoCD-shaped {@code go.cd.secrets.secrets-lookup} requests through {@link VaultPlugin#handle} against a
+ * {@link VaultEmulator}, in bursts of jobs which all start at the same moment, and reports lookup throughput, latency
+ * percentiles and the requests Vault received. Runs are deterministic apart from thread scheduling, so two runs of
+ * the same settings can be compared. Run it with {@code ./gradlew loadTest -PloadTestArgs="jobs=200 bursts=10"}.
+ */
+public class LookupLoadGenerator {
+    private static final String[] AUTH_METHODS = {"token", "approle", "cert"};
+    private static final String ROLE_ID = "load-test-role";
+    private static final String SECRET_ID = "load-test-secret";
+
+    public enum Scenario {
+        /** A stage fanning out to {@code jobs} jobs of one pipeline at once. */
+        FAN_OUT,
+        /** Jobs of {@code pipelines} pipelines which all use the same secret config, each reading its own path. */
+        SHARED_CONFIG,
+        /** Like {@code SHARED_CONFIG}, with the jobs spread over token, AppRole and cert secret configs. */
+        MIXED_AUTH
+    }
+
+    public static class Settings {
+        int jobs = 50;
+        int bursts = 20;
+        int keysPerJob = 10;
+        int pipelines = 20;
+        int secretSize = 64;
+        Duration vaultLatency = Duration.ofMillis(2);
+        String transport = "";
+
+        public static Settings parse(String... args) {
+            Settings settings = new Settings();
+            for (String arg : args) {
+                String[] nameAndValue = arg.split("=", 2);
+                String value = nameAndValue.length == 2 ? nameAndValue[1] : "";
+                switch (nameAndValue[0]) {
+                    case "jobs" -> settings.jobs = Integer.parseInt(value);
+                    case "bursts" -> settings.bursts = Integer.parseInt(value);
+                    case "keysPerJob" -> settings.keysPerJob = Integer.parseInt(value);
+                    case "pipelines" -> settings.pipelines = Integer.parseInt(value);
+                    case "secretSize" -> settings.secretSize = Integer.parseInt(value);
+                    case "vaultLatencyMs" -> settings.vaultLatency = Duration.ofMillis(Long.parseLong(value));
+                    case "transport" -> settings.transport = value;
+                    case "scenario" -> {
+                        // handled by main
+                    }
+                    default -> throw new IllegalArgumentException("Unknown load test setting: " + arg);
+                }
+            }
+            return settings;
+        }
+    }
+
+    public static class Report {
+        final Scenario scenario;
+        final int lookups;
+        final int errors;
+        final long elapsedNanos;
+        final long[] sortedLatencyNanos;
+        final Map<String, Integer> vaultRequests;
+
+        Report(Scenario scenario, int errors, long elapsedNanos, long[] latencyNanos, Map<String, Integer> vaultRequests) {
+            this.scenario = scenario;
+            this.lookups = latencyNanos.length;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencyNanos = latencyNanos.clone();
+            Arrays.sort(this.sortedLatencyNanos);
+            this.vaultRequests = vaultRequests;
+        }
+
+        public int lookups() {
+            return lookups;
+        }
+
+        public int errors() {
+            return errors;
+        }
+
+        public double lookupsPerSecond() {
+            return lookups / (elapsedNanos / 1e9);
+        }
+
+        /**
+         * The nearest-rank percentile of the lookup latencies, in milliseconds.
+         */
+        public double percentileMillis(double percentile) {
+            if (sortedLatencyNanos.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedLatencyNanos.length);
+            return sortedLatencyNanos[Math.max(0, rank - 1)] / 1e6;
+        }
+
+        public Map<String, Integer> vaultRequests() {
+            return vaultRequests;
+        }
+
+        public void print(PrintStream out) {
+            out.printf("%-14s %8d lookups %6d errors %10.1f lookups/s   p50 %8.2f ms   p99 %8.2f ms   p999 %8.2f ms%n",
+                    scenario, lookups, errors, lookupsPerSecond(), percentileMillis(50), percentileMillis(99), percentileMillis(99.9));
+            vaultRequests.forEach((request, count) -> out.printf("    %8d  %s%n", count, request));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        List<Scenario> scenarios = new ArrayList<>(List.of(Scenario.values()));
+        for (String arg : args) {
+            if (arg.startsWith("scenario=")) {
+                scenarios = List.of(Scenario.valueOf(arg.substring("scenario=".length()).toUpperCase()));
+            }
+        }
+
+        for (Scenario scenario : scenarios) {
+            run(scenario, settings).print(System.out);
+        }
+    }
+
+    public static Report run(Scenario scenario, Settings settings) throws Exception {
+        try (VaultEmulator vault = VaultEmulator.startWithTls()) {
+            vault.addAppRole(ROLE_ID, SECRET_ID).latency(settings.vaultLatency);
+            String value = "x".repeat(settings.secretSize);
+            for (int pipeline = 0; pipeline < settings.pipelines; pipeline++) {
+                Map<String, String> data = new HashMap<>();
+                for (int key = 0; key < settings.keysPerJob; key++) {
+                    data.put("key" + key, value);
+                }
+                vault.putSecret("secret/gocd/pipeline-" + pipeline, data);
+            }
+
+            VaultPlugin plugin = new VaultPlugin();
+            plugin.initializeGoApplicationAccessor(null);
+
+            String[] requestBodies = new String[settings.jobs];
+            for (int job = 0; job < settings.jobs; job++) {
+                int pipeline = scenario == Scenario.FAN_OUT ? 0 : job % settings.pipelines;
+                String authMethod = scenario == Scenario.MIXED_AUTH ? AUTH_METHODS[job % AUTH_METHODS.length] : "token";
+                requestBodies[job] = requestBody(configuration(vault, authMethod, settings.transport), pipeline, settings.keysPerJob);
+            }
+
+            // one unmeasured lookup per request shape, so that the report shows steady state rather than start up
+            for (String requestBody : requestBodies) {
+                plugin.handle(lookupRequest(requestBody));
+            }
+            vault.resetRequestCounts();
+
+            return replay(scenario, settings, plugin, requestBodies, vault);
+        }
+    }
+
+    private static Report replay(Scenario scenario, Settings settings, VaultPlugin plugin, String[] requestBodies, VaultEmulator vault) throws Exception {
+        long[] latencyNanos = new long[settings.jobs * settings.bursts];
+        int errors = 0;
+        ExecutorService jobs = Executors.newFixedThreadPool(settings.jobs);
+        try {
+            long started = System.nanoTime();
+            for (int burst = 0; burst < settings.bursts; burst++) {
+                CountDownLatch startTogether = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>(settings.jobs);
+                for (int job = 0; job < settings.jobs; job++) {
+                    int slot = burst * settings.jobs + job;
+                    String requestBody = requestBodies[job];
+                    results.add(jobs.submit(() -> {
+                        startTogether.await();
+                        long start = System.nanoTime();
+                        try {
+                            GoPluginApiResponse response = plugin.handle(lookupRequest(requestBody));
+                            return response.responseCode() == 200;
+                        } catch (RuntimeException e) {
+                            return false;
+                        } finally {
+                            latencyNanos[slot] = System.nanoTime() - start;
+                        }
+                    }));
+                }
+                startTogether.countDown();
+                for (Future<Boolean> result : results) {
+                    if (!result.get()) {
+                        errors++;
+                    }
+                }
+            }
+            return new Report(scenario, errors, System.nanoTime() - started, latencyNanos, vault.requestCounts());
+        } finally {
+            jobs.shutdownNow();
+            jobs.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Map<String, String> configuration(VaultEmulator vault, String authMethod, String transport) {
+        Map<String, String> configuration = new HashMap<>();
+        configuration.put("VaultUrl", vault.url());
+        configuration.put("VaultPath", "secret/gocd");
+        configuration.put("AuthMethod", authMethod);
+        configuration.put("ServerPem", VaultEmulator.serverPem());
+        configuration.put("Transport", transport);
+        switch (authMethod) {
+            case "approle" -> {
+                configuration.put("RoleId", ROLE_ID);
+                configuration.put("SecretId", SECRET_ID);
+            }
+            case "cert" -> {
+                configuration.put("ClientPem", VaultEmulator.clientPem());
+                configuration.put("ClientKeyPem", VaultEmulator.clientKeyPem());
+            }
+            default -> configuration.put("Token", VaultEmulator.ROOT_TOKEN);
+        }
+        return configuration;
+    }
+
+    private static String requestBody(Map<String, String> configuration, int pipeline, int keysPerJob) {
+        StringJoiner properties = new StringJoiner(",", "{", "}");
+        configuration.forEach((name, value) -> properties.add(quoted(name) + ":" + quoted(value)));
+        StringJoiner keys = new StringJoiner(",", "[", "]");
+        for (int key = 0; key < keysPerJob; key++) {
+            keys.add(quoted("pipeline-" + pipeline + ":key" + key));
+        }
+        return "{\"configuration\":" + properties + ",\"keys\":" + keys + "}";
+    }
+
+    private static DefaultGoPluginApiRequest lookupRequest(String requestBody) {
+        DefaultGoPluginApiRequest request = new DefaultGoPluginApiRequest("secrets", "1.0", "go.cd.secrets.secrets-lookup");
+        request.setRequestBody(requestBody);
+        return request;
+    }
+
+    private static String quoted(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2026 ThoughtWorks, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.thoughtworks.gocd.secretmanager.vault;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsExchange;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An in-process Vault for tests and benchmarks. It serves the KV v2 {@code data} and {@code metadata} endpoints of any
+ * mount, AppRole and cert logins, and token {@code renew-self} and {@code lookup-self}, enough for the plugin and the
+ * Vault driver to run against it over real HTTP or TLS without a network. Latency and {@code 429}/{@code 503}
+ * responses can be injected, and every request is counted per method and path.
+ */
+public class VaultEmulator implements AutoCloseable {
+    public static final String ROOT_TOKEN = "emulator-root-token";
+    private static final Pattern JSON_STRING_FIELD = Pattern.compile("\"([a-z_]+)\"\\s*:\\s*\"([^\"]*)\"");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, List<Map<String, String>>> secrets = new ConcurrentHashMap<>();
+    private final Map<String, String> appRoles = new ConcurrentHashMap<>();
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger failuresToInject = new AtomicInteger();
+    private final AtomicLong issuedTokens = new AtomicLong();
+    private final Random random = new Random(42);
+    private volatile int injectedStatus = 503;
+    private volatile double failureRate;
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration tokenTtl = Duration.ofHours(1);
+
+    private VaultEmulator(HttpServer server) {
+        this.server = server;
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vault-emulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/v1/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Starts an emulator serving plain HTTP on a free loopback port.
+     */
+    public static VaultEmulator start() {
+        try {
+            return new VaultEmulator(HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Starts an emulator serving TLS with {@link #serverPem()}, which asks for, but does not require, the
+     * {@link #clientPem()} certificate. Cert logins succeed only when the client presented it.
+     */
+    public static VaultEmulator startWithTls() {
+        try {
+            HttpsServer server = HttpsServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            SSLContext sslContext = serverSslContext();
+            server.setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+                @Override
+                public void configure(HttpsParameters params) {
+                    SSLParameters sslParameters = sslContext.getDefaultSSLParameters();
+                    sslParameters.setWantClientAuth(true);
+                    params.setSSLParameters(sslParameters);
+                }
+            });
+            return new VaultEmulator(server);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String serverPem() {
+        return resource("server.pem");
+    }
+
+    public static String clientPem() {
+        return resource("client.pem");
+    }
+
+    public static String clientKeyPem() {
+        return resource("client-key.pem");
+    }
+
+    public String url() {
+        String scheme = server instanceof HttpsServer ? "https" : "http";
+        return scheme + "://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Writes a new version of the KV v2 secret at {@code <mount>/<path>}.
+     */
+    public VaultEmulator putSecret(String path, Map<String, String> data) {
+        secrets.computeIfAbsent(path, p -> new CopyOnWriteArrayList<>()).add(Map.copyOf(data));
+        return this;
+    }
+
+    public VaultEmulator addAppRole(String roleId, String secretId) {
+        appRoles.put(roleId, secretId);
+        return this;
+    }
+
+    /**
+     * The lease duration of tokens issued by logins and renewals, an hour unless changed.
+     */
+    public VaultEmulator tokenTtl(Duration tokenTtl) {
+        this.tokenTtl = tokenTtl;
+        return this;
+    }
+
+    /**
+     * Delays every response by the given duration.
+     */
+    public VaultEmulator latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Answers the next {@code times} requests with the given status, such as {@code 429} or {@code 503}.
+     */
+    public VaultEmulator failNext(int times, int status) {
+        this.injectedStatus = status;
+        this.failuresToInject.set(times);
+        return this;
+    }
+
+    /**
+     * Answers the given fraction of requests with the given status, chosen with a fixed seed so runs repeat.
+     */
+    public VaultEmulator failureRate(double failureRate, int status) {
+        this.injectedStatus = status;
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public void revokeTokens() {
+        tokens.clear();
+    }
+
+    /**
+     * Number of requests received for the method and path, for example {@code GET /v1/secret/data/gocd}.
+     */
+    public int requestCount(String method, String path) {
+        AtomicInteger count = requestCounts.get(method + " " + path);
+        return count == null ? 0 : count.get();
+    }
+
+    public int totalRequests() {
+        return requestCounts.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    public Map<String, Integer> requestCounts() {
+        Map<String, Integer> counts = new TreeMap<>();
+        requestCounts.forEach((request, count) -> counts.put(request, count.get()));
+        return counts;
+    }
+
+    public void resetRequestCounts() {
+        requestCounts.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String body;
+            try (InputStream requestBody = exchange.getRequestBody()) {
+                body = new String(requestBody.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            requestCounts.computeIfAbsent(method + " " + path, request -> new AtomicInteger()).incrementAndGet();
+
+            sleep(latency);
+            if (shouldFail()) {
+                respond(exchange, injectedStatus, errors(injectedStatus == 429 ? "request rate limit exceeded" : "Vault is sealed"));
+                return;
+            }
+
+            if (path.equals("/v1/auth/approle/login")) {
+                appRoleLogin(exchange, body);
+            } else if (path.equals("/v1/auth/cert/login")) {
+                certLogin(exchange);
+            } else if (path.equals("/v1/auth/token/renew-self")) {
+                renewSelf(exchange);
+            } else if (path.equals("/v1/auth/token/lookup-self")) {
+                lookupSelf(exchange);
+            } else {
+                kvRead(exchange, method, path.substring("/v1/".length()));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean shouldFail() {
+        if (failuresToInject.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            return true;
+        }
+        if (failureRate > 0) {
+            synchronized (random) {
+                return random.nextDouble() < failureRate;
+            }
+        }
+        return false;
+    }
+
+    private void appRoleLogin(HttpExchange exchange, String body) throws IOException {
+        Map<String, String> fields = stringFields(body);
+        String secretId = appRoles.get(String.valueOf(fields.get("role_id")));
+        if (secretId == null || !secretId.equals(fields.get("secret_id"))) {
+            respond(exchange, 400, errors("invalid role or secret ID"));
+            return;
+        }
+        respond(exchange, 200, auth(issueToken()));
+    }
+
+    private void certLogin(HttpExchange exchange) throws IOException {
+        if (!(exchange instanceof HttpsExchange) || !presentedClientCertificate((HttpsExchange) exchange)) {
+            respond(exchange, 400, errors("invalid certificate or no client certificate supplied"));
+            return;
+        }
+        respond(exchange, 200, auth(issueToken()));
+    }
+
+    private void renewSelf(HttpExchange exchange) throws IOException {
+        String token = liveToken(exchange);
+        if (token == null) {
+            respond(exchange, 403, errors("permission denied"));
+            return;
+        }
+        if (!ROOT_TOKEN.equals(token)) {
+            tokens.put(token, Instant.now().plus(tokenTtl));
+        }
+        respond(exchange, 200, auth(token));
+    }
+
+    private void lookupSelf(HttpExchange exchange) throws IOException {
+        String token = liveToken(exchange);
+        if (token == null) {
+            respond(exchange, 403, errors("permission denied"));
+            return;
+        }
+        long ttl = ROOT_TOKEN.equals(token) ? 0 : Math.max(0, Duration.between(Instant.now(), tokens.get(token)).getSeconds());
+        respond(exchange, 200, envelope("{\"id\":\"" + token + "\",\"ttl\":" + ttl + ",\"renewable\":" + !ROOT_TOKEN.equals(token) + "}"));
+    }
+
+    private void kvRead(HttpExchange exchange, String method, String path) throws IOException {
+        if (liveToken(exchange) == null) {
+            respond(exchange, 403, errors("permission denied"));
+            return;
+        }
+
+        int mountEnd = path.indexOf('/');
+        int segmentEnd = mountEnd < 0 ? -1 : path.indexOf('/', mountEnd + 1);
+        if (!"GET".equals(method) || segmentEnd < 0) {
+            respond(exchange, 404, errors());
+            return;
+        }
+
+        String mount = path.substring(0, mountEnd);
+        String segment = path.substring(mountEnd + 1, segmentEnd);
+        List<Map<String, String>> versions = secrets.get(mount + path.substring(segmentEnd));
+        if (versions == null || versions.isEmpty() || !("data".equals(segment) || "metadata".equals(segment))) {
+            respond(exchange, 404, errors());
+            return;
+        }
+
+        int currentVersion = versions.size();
+        if ("metadata".equals(segment)) {
+            respond(exchange, 200, envelope("{\"current_version\":" + currentVersion + ",\"oldest_version\":1,\"max_versions\":0}"));
+        } else {
+            respond(exchange, 200, envelope("{\"data\":" + object(versions.get(currentVersion - 1)) +
+                    ",\"metadata\":{\"version\":" + currentVersion + ",\"destroyed\":false,\"deletion_time\":\"\"}}"));
+        }
+    }
+
+    private String liveToken(HttpExchange exchange) {
+        String token = exchange.getRequestHeaders().getFirst("X-Vault-Token");
+        if (ROOT_TOKEN.equals(token)) {
+            return token;
+        }
+        Instant expiry = token == null ? null : tokens.get(token);
+        return expiry != null && expiry.isAfter(Instant.now()) ? token : null;
+    }
+
+    private String issueToken() {
+        String token = "emulator-token-" + issuedTokens.incrementAndGet() + "-" + UUID.randomUUID();
+        tokens.put(token, Instant.now().plus(tokenTtl));
+        return token;
+    }
+
+    private String auth(String token) {
+        boolean renewable = !ROOT_TOKEN.equals(token);
+        long leaseDuration = renewable ? tokenTtl.getSeconds() : 0;
+        return "{\"request_id\":\"" + UUID.randomUUID() + "\",\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,\"data\":null," +
+                "\"auth\":{\"client_token\":\"" + token + "\",\"accessor\":\"" + UUID.randomUUID() + "\",\"policies\":[\"default\"]," +
+                "\"token_policies\":[\"default\"],\"lease_duration\":" + leaseDuration + ",\"renewable\":" + renewable + "}}";
+    }
+
+    private static String envelope(String data) {
+        return "{\"request_id\":\"" + UUID.randomUUID() + "\",\"lease_id\":\"\",\"renewable\":false,\"lease_duration\":0,\"data\":" + data + "}";
+    }
+
+    private static String errors(String... errors) {
+        StringJoiner messages = new StringJoiner(",", "[", "]");
+        for (String error : errors) {
+            messages.add(quoted(error));
+        }
+        return "{\"errors\":" + messages + "}";
+    }
+
+    private static String object(Map<String, String> data) {
+        StringJoiner object = new StringJoiner(",", "{", "}");
+        data.forEach((key, value) -> object.add(quoted(key) + ":" + quoted(value)));
+        return object.toString();
+    }
+
+    private static String quoted(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static Map<String, String> stringFields(String json) {
+        Map<String, String> fields = new ConcurrentHashMap<>();
+        Matcher matcher = JSON_STRING_FIELD.matcher(json);
+        while (matcher.find()) {
+            fields.put(matcher.group(1), matcher.group(2));
+        }
+        return fields;
+    }
+
+    private static boolean presentedClientCertificate(HttpsExchange exchange) {
+        try {
+            return exchange.getSSLSession().getPeerCertificates().length > 0;
+        } catch (SSLPeerUnverifiedException e) {
+            return false;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static SSLContext serverSslContext() throws GeneralSecurityException, IOException {
+        CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+        Certificate serverCertificate = certificateFactory.generateCertificate(new ByteArrayInputStream(serverPem().getBytes(StandardCharsets.US_ASCII)));
+        Certificate clientCertificate = certificateFactory.generateCertificate(new ByteArrayInputStream(clientPem().getBytes(StandardCharsets.US_ASCII)));
+        PrivateKey serverKey = KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(pemContent(resource("server-key.pem"))));
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("server", serverKey, new char[0], new Certificate[]{serverCertificate});
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, new char[0]);
+
+        KeyStore trustStore = KeyStore.getInstance("PKCS12");
+        trustStore.load(null, null);
+        trustStore.setCertificateEntry("client", clientCertificate);
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(trustStore);
+
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    private static byte[] pemContent(String pem) {
+        return Base64.getMimeDecoder().decode(pem.replaceAll("-----[A-Z ]+-----", ""));
+    }
+
+    private static String resource(String name) {
+        try (InputStream resource = VaultEmulator.class.getResourceAsStream("/vault-emulator/" + name)) {
+            return new String(resource.readAllBytes(), StandardCharsets.US_ASCII);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}